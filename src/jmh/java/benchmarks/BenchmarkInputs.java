@@ -0,0 +1,34 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// puzzle inputs for the benchmarks -- from the repo by default, or wherever -Daoc.inputDir=... points
+// (forks get the launching JVM's -D flags, so setting it on `java -jar target/benchmarks.jar` is enough)
+final class BenchmarkInputs {
+
+  private static final String INPUT_DIR_PROPERTY = "aoc.inputDir";
+  private static final String DEFAULT_INPUT_DIR = "src/main/resources/dayinputs";
+
+  private BenchmarkInputs() {}
+
+  static List<String> readDay(String dayNumber) throws IOException {
+    Path dir = Paths.get(
+      System.getProperty(INPUT_DIR_PROPERTY, DEFAULT_INPUT_DIR)
+    );
+    Path path = dir.resolve("day" + dayNumber + "input.txt");
+    if (!Files.isRegularFile(path)) {
+      throw new IllegalStateException(
+        "No input at " +
+        path.toAbsolutePath() +
+        " -- run from the repo root, or pass -D" +
+        INPUT_DIR_PROPERTY +
+        "=<dir with dayNinput.txt files>"
+      );
+    }
+    return Files.readAllLines(path);
+  }
+}
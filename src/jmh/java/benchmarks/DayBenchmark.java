@@ -0,0 +1,88 @@
+package benchmarks;
+
+import days.Day;
+import days.Day19slower;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.DayRegistry;
+
+// runs part1 & part2 of every Day against its real input -- new Day instance per call, since a bunch keep state in fields
+// (plain constructor calls via DayRegistry, so there's no reflection in what gets measured)
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class DayBenchmark {
+
+  @Param(
+    {
+      "1",
+      "2",
+      "3",
+      "4",
+      "5",
+      "6",
+      "7",
+      "8",
+      "9",
+      "10",
+      "11",
+      "12",
+      "13",
+      "14",
+      "15",
+      "16",
+      "17",
+      "18",
+      "19",
+      "19slower",
+      "20",
+      "21",
+      "22",
+      "23",
+      "24",
+      "25",
+    }
+  )
+  public String day;
+
+  private Supplier<Day<?, ?>> newDay;
+  private List<String> input;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    newDay =
+      day.equals("19slower")
+        ? Day19slower::new
+        : DayRegistry.getDay(Integer.parseInt(day));
+
+    // e.g. "19slower" still reads day19input.txt
+    input = BenchmarkInputs.readDay(day.replaceAll("\\D", ""));
+  }
+
+  @Benchmark
+  public Object part1() {
+    return newDay.get().part1(input);
+  }
+
+  @Benchmark
+  public Object part2() {
+    return newDay.get().part2(input);
+  }
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import days.BfsGeodeSolver;
+import days.BranchAndBoundGeodeSolver;
+import days.GeodeSolver;
+import days.GeodeSolver.Blueprint;
+import days.MemoizedGeodeSolver;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// every GeodeSolver on the same blueprints, single-threaded -- setup also checks each one agrees with branchAndBound
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class GeodeSolverBenchmark {
+
+  @Param({ "branchAndBound", "bfs", "memoized" })
+  public String solver;
+
+  @Param({ "24", "32" })
+  public int minutes;
+
+  // the first this-many blueprints of day19input.txt, like part 2 only using the first 3
+  @Param({ "3" })
+  public int blueprints;
+
+  private GeodeSolver geodeSolver;
+  private List<Blueprint> bps;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    geodeSolver =
+      switch (solver) {
+        case "branchAndBound" -> new BranchAndBoundGeodeSolver();
+        case "bfs" -> new BfsGeodeSolver();
+        case "memoized" -> new MemoizedGeodeSolver();
+        default -> throw new IllegalArgumentException("No solver " + solver);
+      };
+
+    List<Blueprint> allBps = GeodeSolver.parseBlueprints(
+      BenchmarkInputs.readDay("19")
+    );
+    bps = allBps.subList(0, Math.min(blueprints, allBps.size()));
+
+    GeodeSolver reference = new BranchAndBoundGeodeSolver();
+    for (Blueprint bp : bps) {
+      int expected = reference.mostGeodes(bp, minutes);
+      int actual = geodeSolver.mostGeodes(bp, minutes);
+      if (actual != expected) {
+        throw new IllegalStateException(
+          solver +
+          " got " +
+          actual +
+          " geodes for blueprint " +
+          bp.id() +
+          ", branchAndBound got " +
+          expected
+        );
+      }
+    }
+  }
+
+  @Benchmark
+  public int mostGeodesSummed() {
+    int sum = 0;
+    for (Blueprint bp : bps) {
+      sum += geodeSolver.mostGeodes(bp, minutes);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import days.Day14.Cave;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// one grain of Day14 sand per op, against day14input.txt -- run with -prof gc, gc.alloc.rate.norm should be ~0 B/op
+// once the cave's full (source plugged, or a grain fell into the abyss) it's reset, which doesn't allocate either
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class SandDropBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean withFloor;
+
+  private Cave cave;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    cave = Cave.fromScan(BenchmarkInputs.readDay("14"), withFloor);
+  }
+
+  @Benchmark
+  public int dropPieceOfSand() {
+    int rested = cave.dropPieceOfSand();
+    if (rested == Cave.FELL_INTO_ABYSS || rested == cave.getSource()) {
+      cave.reset();
+    }
+    return rested;
+  }
+}
@@ -0,0 +1,222 @@
+package days;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// the original minute-by-minute search, deduping every state it's seen
+public class BfsGeodeSolver implements GeodeSolver {
+
+  public int mostGeodes(Blueprint bp, int maxTime) {
+    return calcMostGeodesViaBfs(
+      bp.oreRobotOreCost(),
+      bp.clayRobotOreCost(),
+      bp.obsidianRobotOreCost(),
+      bp.obsidianRobotClayClost(),
+      bp.geodeRobotOreCost(),
+      bp.geodeRobotObsidianCost(),
+      maxTime
+    );
+  }
+
+  private int calcMostGeodesViaBfs(
+    int oreRobotOreCost,
+    int clayRobotOreCost,
+    int obsidianRobotOreCost,
+    int obsidianRobotClayClost,
+    int geodeRobotOreCost,
+    int geodeRobotObsidianCost,
+    int maxTime
+  ) {
+    int best = 0;
+
+    OperationState initialState = new OperationState(
+      0,
+      0,
+      0,
+      0,
+      1,
+      0,
+      0,
+      0,
+      maxTime
+    );
+
+    Queue<OperationState> q = new LinkedList<>();
+    q.add(initialState);
+
+    Set<OperationState> seen = new HashSet<>();
+
+    while (!q.isEmpty()) {
+      OperationState state = q.poll();
+      int oreAmt = state.oreAmt();
+      int clayAmt = state.clayAmt();
+      int obsAmt = state.obsAmt();
+      int geoAmt = state.geoAmt();
+      int oreRobs = state.oreRobs();
+      int clayRobs = state.clayRobs();
+      int obsRobs = state.obsRobs();
+      int geoRobs = state.geoRobs();
+      int currTimeRemaining = state.timeRemaining();
+
+      best = Math.max(best, geoAmt);
+      if (currTimeRemaining == 0) {
+        continue;
+      }
+
+      int oreMaxCost = Stream
+        .of(
+          oreRobotOreCost,
+          clayRobotOreCost,
+          obsidianRobotOreCost,
+          geodeRobotOreCost
+        )
+        .max(Integer::compareTo)
+        .get();
+
+      // robot culling
+      if (oreRobs >= oreMaxCost) {
+        oreRobs = oreMaxCost;
+      }
+      if (clayRobs >= obsidianRobotClayClost) {
+        clayRobs = obsidianRobotClayClost;
+      }
+      if (obsRobs >= geodeRobotObsidianCost) {
+        obsRobs = geodeRobotObsidianCost;
+      }
+
+      // resource culling
+      int oreEverNeed =
+        (currTimeRemaining * oreMaxCost) - (oreRobs * (currTimeRemaining - 1));
+      if (oreAmt >= oreEverNeed) {
+        oreAmt = oreEverNeed;
+      }
+      int clayEverNeeded =
+        (currTimeRemaining * obsidianRobotClayClost) -
+        (clayRobs * (currTimeRemaining - 1));
+      if (clayAmt >= clayEverNeeded) {
+        clayAmt = clayEverNeeded;
+      }
+      int obsEverNeeded =
+        (currTimeRemaining * geodeRobotObsidianCost) -
+        (obsRobs * (currTimeRemaining - 1));
+      if (obsAmt >= obsEverNeeded) {
+        obsAmt = obsEverNeeded;
+      }
+
+      state =
+        new OperationState(
+          oreAmt,
+          clayAmt,
+          obsAmt,
+          geoAmt,
+          oreRobs,
+          clayRobs,
+          obsRobs,
+          geoRobs,
+          currTimeRemaining
+        );
+
+      if (seen.contains(state)) {
+        continue;
+      }
+      seen.add(state);
+
+      // build nothing
+      q.add(
+        new OperationState(
+          oreAmt + oreRobs,
+          clayAmt + clayRobs,
+          obsAmt + obsRobs,
+          geoAmt + geoRobs,
+          oreRobs,
+          clayRobs,
+          obsRobs,
+          geoRobs,
+          currTimeRemaining - 1
+        )
+      );
+
+      // build stuff
+      if (oreAmt >= oreRobotOreCost) {
+        q.add(
+          new OperationState(
+            oreAmt - oreRobotOreCost + oreRobs,
+            clayAmt + clayRobs,
+            obsAmt + obsRobs,
+            geoAmt + geoRobs,
+            oreRobs + 1,
+            clayRobs,
+            obsRobs,
+            geoRobs,
+            currTimeRemaining - 1
+          )
+        );
+      }
+
+      if (oreAmt >= clayRobotOreCost) {
+        q.add(
+          new OperationState(
+            oreAmt - clayRobotOreCost + oreRobs,
+            clayAmt + clayRobs,
+            obsAmt + obsRobs,
+            geoAmt + geoRobs,
+            oreRobs,
+            clayRobs + 1,
+            obsRobs,
+            geoRobs,
+            currTimeRemaining - 1
+          )
+        );
+      }
+
+      if (oreAmt >= obsidianRobotOreCost && clayAmt >= obsidianRobotClayClost) {
+        q.add(
+          new OperationState(
+            oreAmt - obsidianRobotOreCost + oreRobs,
+            clayAmt - obsidianRobotClayClost + clayRobs,
+            obsAmt + obsRobs,
+            geoAmt + geoRobs,
+            oreRobs,
+            clayRobs,
+            obsRobs + 1,
+            geoRobs,
+            currTimeRemaining - 1
+          )
+        );
+      }
+
+      if (oreAmt >= geodeRobotOreCost && obsAmt >= geodeRobotObsidianCost) {
+        q.add(
+          new OperationState(
+            oreAmt - geodeRobotOreCost + oreRobs,
+            clayAmt + clayRobs,
+            obsAmt - geodeRobotObsidianCost + obsRobs,
+            geoAmt + geoRobs,
+            oreRobs,
+            clayRobs,
+            obsRobs,
+            geoRobs + 1,
+            currTimeRemaining - 1
+          )
+        );
+      }
+    }
+
+    return best;
+  }
+
+  private record OperationState(
+    int oreAmt,
+    int clayAmt,
+    int obsAmt,
+    int geoAmt,
+    int oreRobs,
+    int clayRobs,
+    int obsRobs,
+    int geoRobs,
+    int timeRemaining
+  ) {}
+}
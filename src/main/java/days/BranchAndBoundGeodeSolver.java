@@ -0,0 +1,223 @@
+package days;
+
+// rather than stepping a minute at a time, each branch picks the next robot to build & skips ahead to
+// when it's affordable -- and gets cut as soon as even a wildly optimistic finish can't beat the best so far
+public class BranchAndBoundGeodeSolver implements GeodeSolver {
+
+  // a state is just 8 small counters, so the DFS stack is a long[] of them packed together
+  // geodes are counted up front for a geode robot's whole remaining life, so geode robots don't need tracking
+  private static final int TIME_SHIFT = 0;
+  private static final int ORE_SHIFT = 6;
+  private static final int CLAY_SHIFT = 16;
+  private static final int OBS_SHIFT = 26;
+  private static final int ORE_ROBS_SHIFT = 36;
+  private static final int CLAY_ROBS_SHIFT = 41;
+  private static final int OBS_ROBS_SHIFT = 46;
+  private static final int GEODES_SHIFT = 51;
+
+  private static final int MAX_TIME = (1 << ORE_SHIFT) - 1;
+  private static final int MAX_AMT = (1 << (CLAY_SHIFT - ORE_SHIFT)) - 1;
+  private static final int MAX_COST =
+    (1 << (CLAY_ROBS_SHIFT - ORE_ROBS_SHIFT)) - 1;
+
+  private static long packState(
+    int timeRemaining,
+    int oreAmt,
+    int clayAmt,
+    int obsAmt,
+    int oreRobs,
+    int clayRobs,
+    int obsRobs,
+    int geoAmt
+  ) {
+    return (
+      (long) timeRemaining << TIME_SHIFT |
+      (long) oreAmt << ORE_SHIFT |
+      (long) clayAmt << CLAY_SHIFT |
+      (long) obsAmt << OBS_SHIFT |
+      (long) oreRobs << ORE_ROBS_SHIFT |
+      (long) clayRobs << CLAY_ROBS_SHIFT |
+      (long) obsRobs << OBS_ROBS_SHIFT |
+      (long) geoAmt << GEODES_SHIFT
+    );
+  }
+
+  private static int unpack(long state, int shift, int nextShift) {
+    return (int) ((state >>> shift) & ((1L << (nextShift - shift)) - 1));
+  }
+
+  public int mostGeodes(Blueprint bp, int maxTime) {
+    int oreMaxCost = Math.max(
+      Math.max(bp.oreRobotOreCost(), bp.clayRobotOreCost()),
+      Math.max(bp.obsidianRobotOreCost(), bp.geodeRobotOreCost())
+    );
+    // culled amounts never go over (time left) * (most that could be spent a minute), so checking that up front
+    // means every amount fits without clamping
+    int maxAmtKept =
+      (maxTime - 1) *
+      Math.max(
+        oreMaxCost,
+        Math.max(bp.obsidianRobotClayClost(), bp.geodeRobotObsidianCost())
+      );
+    if (
+      maxTime > MAX_TIME ||
+      oreMaxCost > MAX_COST ||
+      bp.obsidianRobotClayClost() > MAX_COST ||
+      bp.geodeRobotObsidianCost() > MAX_COST ||
+      maxAmtKept > MAX_AMT
+    ) {
+      throw new IllegalArgumentException(
+        "Blueprint " +
+        bp.id() +
+        " over " +
+        maxTime +
+        " minutes is too big to pack"
+      );
+    }
+
+    int best = 0;
+
+    // each state pushes at most 4 more, and there's at most one state per minute on the way down
+    long[] stack = new long[4 * (maxTime + 1)];
+    int stackSize = 0;
+    stack[stackSize++] = packState(maxTime, 0, 0, 0, 1, 0, 0, 0);
+
+    while (stackSize > 0) {
+      long state = stack[--stackSize];
+      int currTimeRemaining = unpack(state, TIME_SHIFT, ORE_SHIFT);
+      int oreAmt = unpack(state, ORE_SHIFT, CLAY_SHIFT);
+      int clayAmt = unpack(state, CLAY_SHIFT, OBS_SHIFT);
+      int obsAmt = unpack(state, OBS_SHIFT, ORE_ROBS_SHIFT);
+      int oreRobs = unpack(state, ORE_ROBS_SHIFT, CLAY_ROBS_SHIFT);
+      int clayRobs = unpack(state, CLAY_ROBS_SHIFT, OBS_ROBS_SHIFT);
+      int obsRobs = unpack(state, OBS_ROBS_SHIFT, GEODES_SHIFT);
+      int geoAmt = unpack(state, GEODES_SHIFT, Long.SIZE);
+
+      best = Math.max(best, geoAmt);
+      if (
+        geoAmt +
+        optimisticMoreGeodes(
+          currTimeRemaining,
+          obsAmt,
+          obsRobs,
+          bp.geodeRobotObsidianCost()
+        ) <=
+        best
+      ) {
+        continue;
+      }
+
+      // pushed in reverse, so geode robots get tried first and raise the bar early
+      for (Resource robot : Resource.values()) {
+        int oreCost;
+        int clayCost = 0;
+        int obsCost = 0;
+        switch (robot) {
+          case ORE -> {
+            if (oreRobs >= oreMaxCost) {
+              continue;
+            }
+            oreCost = bp.oreRobotOreCost();
+          }
+          case CLAY -> {
+            if (clayRobs >= bp.obsidianRobotClayClost()) {
+              continue;
+            }
+            oreCost = bp.clayRobotOreCost();
+          }
+          case OBSIDIAN -> {
+            if (obsRobs >= bp.geodeRobotObsidianCost() || clayRobs == 0) {
+              continue;
+            }
+            oreCost = bp.obsidianRobotOreCost();
+            clayCost = bp.obsidianRobotClayClost();
+          }
+          default -> {
+            if (obsRobs == 0) {
+              continue;
+            }
+            oreCost = bp.geodeRobotOreCost();
+            obsCost = bp.geodeRobotObsidianCost();
+          }
+        }
+
+        int minutesToBuild =
+          1 +
+          Math.max(
+            minutesUntilAffordable(oreCost, oreAmt, oreRobs),
+            Math.max(
+              minutesUntilAffordable(clayCost, clayAmt, clayRobs),
+              minutesUntilAffordable(obsCost, obsAmt, obsRobs)
+            )
+          );
+        int timeAfterBuild = currTimeRemaining - minutesToBuild;
+        if (timeAfterBuild <= 0) {
+          continue;
+        }
+
+        int newOreRobs = oreRobs + (robot == Resource.ORE ? 1 : 0);
+        int newClayRobs = clayRobs + (robot == Resource.CLAY ? 1 : 0);
+        int newObsRobs = obsRobs + (robot == Resource.OBSIDIAN ? 1 : 0);
+
+        // resource culling -- holding more than could ever be spent is the same as holding exactly that much
+        int newOreAmt = Math.min(
+          oreAmt + oreRobs * minutesToBuild - oreCost,
+          timeAfterBuild * oreMaxCost - newOreRobs * (timeAfterBuild - 1)
+        );
+        int newClayAmt = Math.min(
+          clayAmt + clayRobs * minutesToBuild - clayCost,
+          timeAfterBuild * bp.obsidianRobotClayClost() -
+          newClayRobs *
+          (timeAfterBuild - 1)
+        );
+        int newObsAmt = Math.min(
+          obsAmt + obsRobs * minutesToBuild - obsCost,
+          timeAfterBuild * bp.geodeRobotObsidianCost() -
+          newObsRobs *
+          (timeAfterBuild - 1)
+        );
+
+        stack[stackSize++] =
+          packState(
+            timeAfterBuild,
+            newOreAmt,
+            newClayAmt,
+            newObsAmt,
+            newOreRobs,
+            newClayRobs,
+            newObsRobs,
+            geoAmt + (robot == Resource.GEODE ? timeAfterBuild : 0)
+          );
+      }
+    }
+
+    return best;
+  }
+
+  private static int minutesUntilAffordable(int cost, int amt, int robs) {
+    if (amt >= cost) {
+      return 0;
+    }
+    return (cost - amt + robs - 1) / robs;
+  }
+
+  // pretend ore is free & a new obsidian robot appears every minute -- then build a geode robot whenever
+  // there's the obsidian for it
+  private static int optimisticMoreGeodes(
+    int timeRemaining,
+    int obsAmt,
+    int obsRobs,
+    int geodeRobotObsidianCost
+  ) {
+    int moreGeodes = 0;
+    for (int t = timeRemaining; t > 1; t--) {
+      if (obsAmt >= geodeRobotObsidianCost) {
+        obsAmt -= geodeRobotObsidianCost;
+        moreGeodes += t - 1;
+      }
+      obsAmt += obsRobs;
+      obsRobs++;
+    }
+    return moreGeodes;
+  }
+}
@@ -1,9 +1,20 @@
 package days;
 
 import java.util.List;
+import utils.MappedInput;
 
-public interface Day {
-  void part1(List<String> input);
+// P1 & P2 are the answer types of each part, e.g. Integer or String
+public interface Day<P1, P2> {
+  P1 part1(List<String> input);
 
-  void part2(List<String> input);
+  P2 part2(List<String> input);
+
+  // override these to walk the mapped lines lazily instead of decoding the whole file up front
+  default P1 part1(MappedInput input) {
+    return part1(input.toLines());
+  }
+
+  default P2 part2(MappedInput input) {
+    return part2(input.toLines());
+  }
 }
@@ -1,85 +1,52 @@
 package days;
 
-import com.google.common.base.Strings;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
-public class Day1 implements Day {
+public class Day1 implements StreamingDay<Integer, Integer> {
 
-  public void part1(List<String> input) {
-    List<Entry<Integer, Integer>> entriesByMostCalories = getCaloriesByElfEntriesOrderedByMostCalories(
-      input
-    );
-
-    int fattiestElf = entriesByMostCalories.get(0).getKey();
-    int fattiestCalories = entriesByMostCalories.get(0).getValue();
-
-    System.out.println("entriesByMostCalories: " + entriesByMostCalories);
-    System.out.println(
-      "Fattiest elf is index #" +
-      fattiestElf +
-      " with ~~~" +
-      fattiestCalories +
-      "~~~ calories!"
-    );
+  public LineSolver<Integer> part1Solver() {
+    return new TopCaloriesSolver(1);
   }
 
-  public void part2(List<String> input) {
-    List<Entry<Integer, Integer>> entriesByMostCalories = getCaloriesByElfEntriesOrderedByMostCalories(
-      input
-    );
-
-    int topThreeFattiestCaloriesSum = entriesByMostCalories
-      .stream()
-      .limit(3)
-      .mapToInt(Entry::getValue)
-      .sum();
-
-    System.out.println(
-      "Top 3 fattiest are index #s: " +
-      entriesByMostCalories.get(0).getKey() +
-      ", " +
-      entriesByMostCalories.get(1).getKey() +
-      ", " +
-      entriesByMostCalories.get(2).getKey() +
-      " with a total of ~~~" +
-      topThreeFattiestCaloriesSum +
-      "~~~ calories among them!"
-    );
+  public LineSolver<Integer> part2Solver() {
+    return new TopCaloriesSolver(3);
   }
 
-  private List<Entry<Integer, Integer>> getCaloriesByElfEntriesOrderedByMostCalories(
-    List<String> input
-  ) {
-    Map<Integer, Integer> caloriesByElf = getCaloriesByElf(input);
-    Comparator<Map.Entry<Integer, Integer>> byCaloriesAscending = Map.Entry.comparingByValue();
-
-    return caloriesByElf
-      .entrySet()
-      .stream()
-      .sorted(byCaloriesAscending.reversed())
-      .collect(Collectors.toList());
-  }
+  // running total for the current elf, plus only the fattiest few totals seen so far
+  private static class TopCaloriesSolver implements LineSolver<Integer> {
 
-  private static Map<Integer, Integer> getCaloriesByElf(List<String> input) {
-    Map<Integer, Integer> caloriesByElf = new HashMap<>();
+    private final int[] topCalories; // most calories first
+    private int currentCalories = 0;
 
-    int elfNum = 0;
+    TopCaloriesSolver(int numFattiest) {
+      this.topCalories = new int[numFattiest];
+    }
 
-    for (String calories : input) {
-      if (Strings.isNullOrEmpty(calories)) {
-        elfNum++;
-        continue;
+    public void accept(CharSequence calories) {
+      if (calories.length() == 0) {
+        finishElf();
+        return;
       }
+      currentCalories += Integer.parseInt(calories, 0, calories.length(), 10);
+    }
 
-      int currentCalories = caloriesByElf.computeIfAbsent(elfNum, ignored -> 0);
-      caloriesByElf.put(elfNum, currentCalories + Integer.parseInt(calories));
+    public Integer finish() {
+      finishElf(); // last elf has no blank line after
+      return Arrays.stream(topCalories).sum();
     }
 
-    return caloriesByElf;
+    private void finishElf() {
+      int calories = currentCalories;
+      currentCalories = 0;
+
+      // insertion into the short sorted array, bumping the smallest off the end
+      for (int i = 0; i < topCalories.length; i++) {
+        if (calories > topCalories[i]) {
+          int bumped = topCalories[i];
+          topCalories[i] = calories;
+          calories = bumped;
+        }
+      }
+    }
   }
 }
@@ -6,33 +6,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class Day10 implements Day {
+public class Day10 implements Day<Integer, String> {
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     Map<Integer, Integer> valuesAtCycles = computeValuesAtCycles(input, 220);
-    System.out.println(valuesAtCycles);
 
     Set<Integer> CYCLES_TO_MEASURE = Set.of(20, 60, 100, 140, 180, 220);
 
     int signalStrengthSum = 0;
     for (Map.Entry<Integer, Integer> entry : valuesAtCycles.entrySet()) {
       int signalStrength = entry.getKey() * entry.getValue();
-      System.out.println(
-        "Strength at cycle " + entry.getKey() + ": " + signalStrength
-      );
       if (CYCLES_TO_MEASURE.contains(entry.getKey())) {
         signalStrengthSum += signalStrength;
       }
     }
-    System.out.println(
-      "Sum of signal strengths at particular cycles: " + signalStrengthSum
-    );
+    return signalStrengthSum;
   }
 
-  public void part2(List<String> input) {
+  public String part2(List<String> input) {
     Map<Integer, Integer> valuesAtCycles = computeValuesAtCycles(input, 240);
-    System.out.println(valuesAtCycles);
-    drawCrt(valuesAtCycles);
+    return drawCrt(valuesAtCycles);
   }
 
   private static final Splitter SPLITTER = Splitter.on(" ");
@@ -80,7 +73,8 @@ public class Day10 implements Day {
   private static final int ROW_LEN = 40;
   private static final int NUM_ROWS = 6;
 
-  private void drawCrt(Map<Integer, Integer> valuesAtCycles) {
+  private String drawCrt(Map<Integer, Integer> valuesAtCycles) {
+    StringBuilder crt = new StringBuilder();
     for (int cycle = 1; cycle <= ROW_LEN * NUM_ROWS; cycle++) {
       int p;
       if (cycle % ROW_LEN == 0) {
@@ -90,13 +84,14 @@ public class Day10 implements Day {
         p = (cycle % ROW_LEN) - 1;
       }
 
-      System.out.print(draw(p, valuesAtCycles.get(cycle)));
+      crt.append(draw(p, valuesAtCycles.get(cycle)));
 
       if (p == ROW_LEN - 1) {
         // new line after last pos
-        System.out.print("\n");
+        crt.append("\n");
       }
     }
+    return crt.toString();
   }
 
   private String draw(int crtPosition, int spriteMiddlePosition) {
@@ -9,9 +9,9 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class Day11 implements Day {
+public class Day11 implements Day<Long, Long> {
 
-  public void part1(List<String> input) {
+  public Long part1(List<String> input) {
     List<Monkey> monkeys = parseInputToMonkeys(input);
 
     Collection<Monkey> monkeysPostRounds = calculateNumInspectionsByMonkeyOverRounds(
@@ -24,23 +24,20 @@ public class Day11 implements Day {
       .stream()
       .sorted(Comparator.comparing(Monkey::getNumInspections).reversed())
       .collect(Collectors.toList());
-    System.out.println(monkeysByMostInspections);
 
-    System.out.println(
-      "Monkey business = " +
+    return (
       monkeysByMostInspections.get(0).getNumInspections() *
       monkeysByMostInspections.get(1).getNumInspections()
     );
   }
 
-  public void part2(List<String> input) {
+  public Long part2(List<String> input) {
     List<Monkey> monkeys = parseInputToMonkeys(input);
 
     int modder = monkeys
       .stream()
       .map(Monkey::getDivisor)
       .reduce(1, (a, b) -> a * b);
-    System.out.println("modder: " + modder);
 
     Collection<Monkey> monkeysPostRounds = calculateNumInspectionsByMonkeyOverRounds(
       monkeys,
@@ -57,10 +54,8 @@ public class Day11 implements Day {
       .stream()
       .sorted(Comparator.comparing(Monkey::getNumInspections).reversed())
       .collect(Collectors.toList());
-    System.out.println(monkeysByMostInspections);
 
-    System.out.println(
-      "Monkey business = " +
+    return (
       monkeysByMostInspections.get(0).getNumInspections() *
       monkeysByMostInspections.get(1).getNumInspections()
     );
@@ -7,9 +7,9 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.function.Function;
 
-public class Day12 implements Day {
+public class Day12 implements Day<Integer, Integer> {
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     Character[][] grid = constructGridFromInput(input);
     Node start = constructGraphFromGrid(
       grid,
@@ -18,10 +18,10 @@ public class Day12 implements Day {
       c -> c == 'E'
     );
     int len = doBFS(start);
-    System.out.println("Num steps for shortest path: " + len);
+    return len;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     Character[][] grid = constructGridFromInput(input);
     Node start = constructGraphFromGrid( // go backwards starting at E and ending at any 'a' or S
       grid,
@@ -30,7 +30,7 @@ public class Day12 implements Day {
       c -> c == 'S' || c == 'a'
     );
     int len = doBFS(start);
-    System.out.println("Actual shortest path is: " + len);
+    return len;
   }
 
   // x is how many over from left -- farthest left is 0
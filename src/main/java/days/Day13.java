@@ -8,9 +8,9 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class Day13 implements Day {
+public class Day13 implements Day<Integer, Integer> {
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     List<PacketPair> packetPairList = parseToPacketPairList(input);
 
     List<Integer> pairIndicesInRightOrder = new ArrayList<>();
@@ -24,10 +24,10 @@ public class Day13 implements Day {
       .stream()
       .mapToInt(Integer::intValue)
       .sum();
-    System.out.println("Sum of indices in right order: " + rightIndicesSum);
+    return rightIndicesSum;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     List<PacketPair> packetPairList = parseToPacketPairList(input);
 
     List<List<Object>> allPacketsFromPairs = packetPairList
@@ -52,10 +52,7 @@ public class Day13 implements Day {
       )
       .collect(Collectors.toList());
 
-    System.out.println(
-      "Decoder's multiplied: " +
-      ((sorted.indexOf(divider1) + 1) * (sorted.indexOf(divider2) + 1))
-    );
+    return (sorted.indexOf(divider1) + 1) * (sorted.indexOf(divider2) + 1);
   }
 
   private List<PacketPair> parseToPacketPairList(List<String> input) {
@@ -2,48 +2,48 @@ package days;
 
 import com.google.common.base.Splitter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
-public class Day14 implements Day {
+public class Day14 implements Day<Long, Long> {
 
-  private static final char ROCK = '#';
-  private static final char SAND = 'o';
+  private static final byte EMPTY = 0;
+  private static final byte ROCK = 1;
+  private static final byte SAND = 2;
   private static final String SAND_SOURCE_COORD = "500,0";
 
-  public void part1(List<String> input) {
-    Map<Coord, Character> grid = createGridFromScan(input);
-    Map<Coord, Character> afterSandRest = fallSandToAbyss(grid);
-    long atRest = afterSandRest
-      .values()
-      .stream()
-      .filter(c -> c == SAND)
-      .count();
-    System.out.println("Num at rest: " + atRest);
+  // with a floor, where the sand ends up doesn't depend on the order it falls in, so by default skip simulating grains
+  private final boolean floodFillFloor;
+
+  public Day14() {
+    this(true);
+  }
+
+  public Day14(boolean floodFillFloor) {
+    this.floodFillFloor = floodFillFloor;
+  }
+
+  public Long part1(List<String> input) {
+    Cave cave = Cave.fromScan(input, false);
+    long atRest = fallSandToAbyss(cave);
+    return atRest;
   }
 
-  public void part2(List<String> input) {
-    Map<Coord, Character> grid = createGridFromScan(input);
-    Map<Coord, Character> afterSandRest = fallSandToFloorToCoverSource(grid);
-    long atRest = afterSandRest
-      .values()
-      .stream()
-      .filter(c -> c == SAND)
-      .count();
-    System.out.println("Num at rest: " + atRest);
+  public Long part2(List<String> input) {
+    List<Path> rockPaths = parseRockPaths(input);
+    long atRest = floodFillFloor
+      ? countSandReachableAboveFloor(rockPaths)
+      : fallSandToFloorToCoverSource(Cave.fromScan(input, true));
+    return atRest;
   }
 
   private static final Splitter PATH_SPLITTER = Splitter.on(" -> ");
   private static final Splitter COORD_SPLITTER = Splitter.on(",");
 
-  private Map<Coord, Character> createGridFromScan(List<String> input) {
-    Map<Coord, Character> grid = new HashMap<>();
+  private static List<Path> parseRockPaths(List<String> input) {
+    List<Path> paths = new ArrayList<>();
 
     for (String rockScan : input) {
-      List<Path> paths = new ArrayList<>();
       List<String> coords = PATH_SPLITTER.splitToList(rockScan);
       for (int c = 0; c < coords.size() - 1; c++) {
         paths.add(
@@ -53,147 +53,181 @@ public class Day14 implements Day {
           )
         );
       }
-
-      for (Path path : paths) {
-        Map<Coord, Character> drawnPath = drawPath(path);
-        grid.putAll(drawnPath);
-      }
     }
 
-    return grid;
+    return paths;
   }
 
-  private Map<Coord, Character> drawPath(Path path) {
-    Map<Coord, Character> pathPoints = new HashMap<>();
+  private long fallSandToAbyss(Cave cave) {
+    long atRest = 0L;
+    while (cave.dropPieceOfSand() != Cave.FELL_INTO_ABYSS) {
+      atRest++;
+    }
+    return atRest;
+  }
 
-    if (path.isHorizontal()) {
-      int y = path.getStart().getY();
-      if (path.getStart().getX() <= path.getEnd().getX()) {
-        for (int x = path.getStart().getX(); x <= path.getEnd().getX(); x++) {
-          pathPoints.put(new Coord(x, y), ROCK);
-        }
-      } else {
-        for (int x = path.getEnd().getX(); x <= path.getStart().getX(); x++) {
-          pathPoints.put(new Coord(x, y), ROCK);
-        }
-      }
-    } else { // is vertical
-      int x = path.getStart().getX();
-      if (path.getStart().getY() <= path.getEnd().getY()) {
-        for (int y = path.getStart().getY(); y <= path.getEnd().getY(); y++) {
-          pathPoints.put(new Coord(x, y), ROCK);
-        }
-      } else {
-        for (int y = path.getEnd().getY(); y <= path.getStart().getY(); y++) {
-          pathPoints.put(new Coord(x, y), ROCK);
-        }
-      }
+  private long fallSandToFloorToCoverSource(Cave cave) {
+    long atRest = 1L; // the one that plugs it
+    while (cave.dropPieceOfSand() != cave.getSource()) {
+      atRest++;
     }
+    return atRest;
+  }
 
-    return pathPoints;
+  private static int findDeepestY(List<Path> rockPaths) {
+    return rockPaths.stream().mapToInt(Path::getDeepestY).max().getAsInt();
   }
 
-  private Map<Coord, Character> fallSandToAbyss(Map<Coord, Character> grid) {
-    int abyssThreshold = findDeepestY(grid);
-
-    boolean inTheAbyss = false;
-    while (!inTheAbyss) {
-      Coord end = dropPieceOfSand(
-        grid,
-        Optional.of(abyssThreshold),
-        Optional.empty(),
-        Coord.toCoord(SAND_SOURCE_COORD)
-      );
-
-      if (end.getY() >= abyssThreshold) {
-        inTheAbyss = true;
-      } else {
-        // came to rest
-        grid.put(end, SAND);
+  // once the source is plugged, every cell sand could have fallen into has sand in it -- i.e. everything under the
+  // source that can be reached going down, down-left, or down-right without passing through rock. so spread a
+  // row at a time as a bitset: this row's sand is the row above's, smeared 1 either way, minus this row's rock
+  private long countSandReachableAboveFloor(List<Path> rockPaths) {
+    int floorDepth = findDeepestY(rockPaths) + 2;
+    int width = 2 * floorDepth + 1; // x = -floorDepth..floorDepth, at bit x + floorDepth
+    int words = (width + Long.SIZE - 1) / Long.SIZE;
+
+    long[][] rocksByRow = new long[floorDepth][words];
+    for (Path path : rockPaths) {
+      int fromY = Math.min(path.getStart().getY(), path.getEnd().getY());
+      int fromX = Math.min(path.getStart().getX(), path.getEnd().getX());
+      int toX = Math.max(path.getStart().getX(), path.getEnd().getX());
+      fromX = Math.max(fromX, -floorDepth);
+      toX = Math.min(toX, floorDepth);
+      for (int y = fromY; y <= path.getDeepestY(); y++) {
+        for (int x = fromX; x <= toX; x++) {
+          int bit = x + floorDepth;
+          rocksByRow[y][bit >>> 6] |= 1L << bit;
+        }
       }
     }
 
-    return grid;
-  }
-
-  private Map<Coord, Character> fallSandToFloorToCoverSource(
-    Map<Coord, Character> grid
-  ) {
-    int floorDepth = findDeepestY(grid) + 2;
-    Coord sourceToPlug = Coord.toCoord(SAND_SOURCE_COORD);
-
-    boolean pluggedSource = false;
-    while (!pluggedSource) {
-      Coord end = dropPieceOfSand(
-        grid,
-        Optional.empty(),
-        Optional.of(floorDepth),
-        Coord.toCoord(SAND_SOURCE_COORD)
-      );
-
-      grid.put(end, SAND);
-      if (end.equals(sourceToPlug)) {
-        pluggedSource = true;
+    long[] sand = new long[words];
+    long[] next = new long[words];
+    sand[floorDepth >>> 6] = 1L << floorDepth; // the source
+    long atRest = 1L;
+    for (int y = 1; y < floorDepth; y++) {
+      for (int w = 0; w < words; w++) {
+        long fromWest = (sand[w] << 1) | (w > 0 ? sand[w - 1] >>> 63 : 0L);
+        long fromEast =
+          (sand[w] >>> 1) | (w + 1 < words ? sand[w + 1] << 63 : 0L);
+        next[w] = (sand[w] | fromWest | fromEast) & ~rocksByRow[y][w];
+        atRest += Long.bitCount(next[w]);
       }
+      long[] swap = sand;
+      sand = next;
+      next = swap;
     }
 
-    return grid;
+    return atRest;
   }
 
-  private int findDeepestY(Map<Coord, Character> grid) {
-    return grid
-      .keySet()
-      .stream()
-      .map(Coord::getY)
-      .max(Integer::compareTo)
-      .get();
-  }
+  // the scan as one byte per cell -- sand only ever moves 1 sideways per row fallen, so from the source it can't
+  // get further out than x = +-floorDepth, & anything past that never needs storing
+  // dropping a grain is just int cell indexes into that, so it never allocates
+  public static final class Cave {
+
+    public static final int FELL_INTO_ABYSS = -1;
+    public static final int SOURCE_PLUGGED = -2; // with a floor, once a grain's come to rest on the source
+    private static final int NO_ABYSS = Integer.MAX_VALUE;
+
+    private final int floorDepth;
+    private final int width;
+    private final int source;
+    private final int abyssStart; // first cell of the row grains fall out of, or NO_ABYSS with a floor
+    private final byte[] rocks;
+    private final byte[] cells; // [y * width + (x + floorDepth)]
+
+    // every cell the current grain has fallen through, source first -- the next grain takes the exact same path
+    // up until the cell the last one came to rest in, so it can start from the one just above that
+    private final int[] fallPath;
+    private int fallPathLength;
+
+    private Cave(List<Path> rockPaths, boolean withFloor) {
+      int abyssThreshold = findDeepestY(rockPaths); // deepest rock, anything that gets down to here is gone
+      floorDepth = abyssThreshold + 2;
+      width = 2 * floorDepth + 1;
+      Coord sourceCoord = Coord.toCoord(SAND_SOURCE_COORD);
+      source = cell(sourceCoord.getX(), sourceCoord.getY());
+      abyssStart = withFloor ? NO_ABYSS : cell(-floorDepth, abyssThreshold);
+
+      rocks = new byte[(floorDepth + 1) * width];
+      for (Path path : rockPaths) {
+        drawPath(path);
+      }
+      if (withFloor) {
+        for (int x = -floorDepth; x <= floorDepth; x++) {
+          rocks[cell(x, floorDepth)] = ROCK;
+        }
+      }
+      cells = rocks.clone();
 
-  private Coord dropPieceOfSand(
-    Map<Coord, Character> grid,
-    Optional<Integer> abyssThreshold,
-    Optional<Integer> floorDepth,
-    Coord current
-  ) {
-    // first tries to fall down 1
-    Coord downOne = new Coord(current.getX(), current.getY() + 1);
-    if (shouldGoToCoord(grid, downOne, abyssThreshold, floorDepth)) {
-      return dropPieceOfSand(grid, abyssThreshold, floorDepth, downOne);
+      fallPath = new int[floorDepth + 1];
+      fallPath[fallPathLength++] = source;
     }
 
-    // if down is blocked (by rock or sand), try to move diagonally 1 step down & to the left (at once)
-    Coord downDiagLeft = new Coord(current.getX() - 1, current.getY() + 1);
-    if (shouldGoToCoord(grid, downDiagLeft, abyssThreshold, floorDepth)) {
-      return dropPieceOfSand(grid, abyssThreshold, floorDepth, downDiagLeft);
+    public static Cave fromScan(List<String> input, boolean withFloor) {
+      return new Cave(parseRockPaths(input), withFloor);
     }
 
-    // if that is blocked, tries the other direction, 1 step down & to the right
-    Coord downDiagRight = new Coord(current.getX() + 1, current.getY() + 1);
-    if (shouldGoToCoord(grid, downDiagRight, abyssThreshold, floorDepth)) {
-      return dropPieceOfSand(grid, abyssThreshold, floorDepth, downDiagRight);
+    public int getSource() {
+      return source;
     }
 
-    // if still blocked, comes to rest
-    return current;
-  }
+    // back to just the rocks
+    public void reset() {
+      System.arraycopy(rocks, 0, cells, 0, rocks.length);
+      fallPathLength = 0;
+      fallPath[fallPathLength++] = source;
+    }
 
-  private boolean shouldGoToCoord(
-    Map<Coord, Character> grid,
-    Coord target,
-    Optional<Integer> abyssThreshold,
-    Optional<Integer> floorDepth
-  ) {
-    // would just keep falling, done
-    if (abyssThreshold.isPresent() && target.getY() > abyssThreshold.get()) {
-      return false;
+    // first tries to fall down 1, then diagonally down & to the left, then down & to the right -- if all are blocked
+    // (by rock or sand), comes to rest. returns the cell it rested in, FELL_INTO_ABYSS, or SOURCE_PLUGGED if there
+    // was nowhere left to drop it from
+    public int dropPieceOfSand() {
+      if (fallPathLength == 0) {
+        return SOURCE_PLUGGED;
+      }
+      int current = fallPath[fallPathLength - 1];
+      while (current < abyssStart) {
+        int downOne = current + width;
+        if (cells[downOne] == EMPTY) {
+          current = downOne;
+        } else if (cells[downOne - 1] == EMPTY) {
+          current = downOne - 1;
+        } else if (cells[downOne + 1] == EMPTY) {
+          current = downOne + 1;
+        } else {
+          cells[current] = SAND;
+          fallPathLength--;
+          return current;
+        }
+        fallPath[fallPathLength++] = current;
+      }
+
+      // would just keep falling
+      return FELL_INTO_ABYSS;
     }
 
-    // currently resting at floor, done
-    if (floorDepth.isPresent() && target.getY() == floorDepth.get()) {
-      return false;
+    private void drawPath(Path path) {
+      int fromY = Math.min(path.getStart().getY(), path.getEnd().getY());
+      int toY = path.getDeepestY();
+
+      // sand can't reach past +-floorDepth
+      int fromX = Math.min(path.getStart().getX(), path.getEnd().getX());
+      int toX = Math.max(path.getStart().getX(), path.getEnd().getX());
+      fromX = Math.max(fromX, -floorDepth);
+      toX = Math.min(toX, floorDepth);
+
+      for (int x = fromX; x <= toX; x++) {
+        for (int y = fromY; y <= toY; y++) {
+          rocks[cell(x, y)] = ROCK;
+        }
+      }
     }
 
-    return !grid.containsKey(target);
+    private int cell(int x, int y) {
+      return y * width + x + floorDepth;
+    }
   }
 
   private static class Coord {
@@ -257,8 +291,8 @@ public class Day14 implements Day {
       return end;
     }
 
-    public boolean isHorizontal() {
-      return start.getY() == end.getY();
+    public int getDeepestY() {
+      return Math.max(start.getY(), end.getY());
     }
   }
 }
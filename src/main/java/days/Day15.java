@@ -1,105 +1,60 @@
 package days;
 
 import com.google.common.base.Splitter;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
-public class Day15 implements Day {
+public class Day15 implements Day<Integer, Long> {
 
-  public void part1(List<String> input) {
-    Map<Coord, Coord> sensorToClosestBeacon = parseInput(input);
+  private static final int DEFAULT_QUERY_ROW = 2000000;
+  private static final int DEFAULT_SEARCH_BOUND = 4000000;
+  private static final long TUNING_MULTIPLIER = 4000000L;
 
-    Map<Coord, Integer> rangeWhereCantBeBySensor = calculateRangeWhereCantBeBySensor(
-      sensorToClosestBeacon
-    );
-
-    int farthestLeftX = rangeWhereCantBeBySensor
-      .entrySet()
-      .stream()
-      .map(entry -> entry.getKey().getX() - entry.getValue())
-      .min(Integer::compareTo)
-      .get();
-    int farthestRightX = rangeWhereCantBeBySensor
-      .entrySet()
-      .stream()
-      .map(entry -> entry.getKey().getX() + entry.getValue())
-      .max(Integer::compareTo)
-      .get();
-
-    int y = 2000000;
-    Collection<Coord> beacons = sensorToClosestBeacon.values();
-
-    int numCantBeOnYRow = 0;
-    for (int x = farthestLeftX; x <= farthestRightX; x++) {
-      Coord current = new Coord(x, y);
-      if (beacons.contains(current)) {
-        continue;
-      }
-      if (withinRangeOfAnySensor(rangeWhereCantBeBySensor, current)) {
-        numCantBeOnYRow++;
-      }
-    }
+  private final int queryRow; // part 1's row
+  private final int searchBound; // part 2 looks in 0..searchBound for both x & y
 
-    System.out.println(
-      "Num positions that can't contain a beacon on row " +
-      y +
-      ": " +
-      numCantBeOnYRow
-    );
+  public Day15() {
+    this(DEFAULT_QUERY_ROW, DEFAULT_SEARCH_BOUND);
   }
 
-  public void part2(List<String> input) {
-    Map<Coord, Coord> sensorToClosestBeacon = parseInput(input);
+  public Day15(int queryRow, int searchBound) {
+    this.queryRow = queryRow;
+    this.searchBound = searchBound;
+  }
 
-    Map<Coord, Integer> rangeWhereCantBeBySensor = calculateRangeWhereCantBeBySensor(
-      sensorToClosestBeacon
-    );
+  public Integer part1(List<String> input) {
+    Sensors sensors = parseInput(input);
 
-    // the uncovered point must be in between four diamond edges:
-    // - to the right of a bot-right line (/)
-    // - to the right of a top-right line (\)
-    // - to the left of a bot-left line (\)
-    // - to the left of a top-left line (/)
-    // so, we can arbitrarily pick one of these four "sides" of the diamonds to use
-    // -- let's pick the bot-right line, and grab the coords that define it for each sensor -- the bot and right points of the diamond
-    Set<List<Coord>> botAndRightDiamondPointCoordsForAllSensors = calcBotAndRightDiamondPointCoordsForAllSensors(
-      rangeWhereCantBeBySensor
-    );
+    int numCantBeOnYRow = sensors.numCantBeOnRow(queryRow);
+    return numCantBeOnYRow;
+  }
 
-    long limit = 4000000;
+  public Long part2(List<String> input) {
+    Sensors sensors = parseInput(input);
 
-    // now, let's walk along that bot-right line for each sensor diamond
-    // - so, we know the uncovered point would be x+1 to the right
-    // - if that point is not within range of any sensors at all, that's gotta be it
-    Coord uncoveredSpot = findAvailablePointOneToRightOfBotRightLine(
-      botAndRightDiamondPointCoordsForAllSensors,
-      rangeWhereCantBeBySensor,
-      limit
-    );
+    Coord uncoveredSpot = sensors.findUncoveredSpot(searchBound);
 
     long tuningFreq =
-      ((long) uncoveredSpot.getX() * limit) + uncoveredSpot.getY();
-    System.out.println("Tuning frequency of distress beacon: " + tuningFreq);
+      ((long) uncoveredSpot.getX() * TUNING_MULTIPLIER) + uncoveredSpot.getY();
+    return tuningFreq;
   }
 
   private static final Splitter COLON_SPLITTER = Splitter.on(": ");
   private static final Splitter AT_SPLITTER = Splitter.on("at ");
   private static final Splitter COMMA_SPLITTER = Splitter.on(", ");
 
-  private Map<Coord, Coord> parseInput(List<String> input) {
-    Map<Coord, Coord> sensorToClosestBeacon = new HashMap<>(input.size());
-    for (String line : input) {
-      List<String> parts = COLON_SPLITTER.splitToList(line);
+  private Sensors parseInput(List<String> input) {
+    Sensors sensors = new Sensors(input.size());
+    for (int i = 0; i < input.size(); i++) {
+      List<String> parts = COLON_SPLITTER.splitToList(input.get(i));
       Coord sensor = extractCoordFromHalf(parts.get(0));
       Coord beacon = extractCoordFromHalf(parts.get(1));
-      sensorToClosestBeacon.put(sensor, beacon);
+      sensors.set(i, sensor, beacon);
     }
-    return sensorToClosestBeacon;
+    return sensors;
   }
 
   private Coord extractCoordFromHalf(String half) {
@@ -116,86 +71,151 @@ public class Day15 implements Day {
     return Integer.parseInt(coordPart.substring(coordPart.indexOf('=') + 1));
   }
 
-  private Map<Coord, Integer> calculateRangeWhereCantBeBySensor(
-    Map<Coord, Coord> sensorToClosestBeacon
-  ) {
-    Map<Coord, Integer> rangeWhereCantBeBySensor = new HashMap<>();
-    for (Map.Entry<Coord, Coord> entry : sensorToClosestBeacon.entrySet()) {
-      Coord sensor = entry.getKey();
-      Coord closestBeacon = entry.getValue();
-      rangeWhereCantBeBySensor.put(
-        sensor,
-        calculateManhattanDistance(sensor, closestBeacon)
-      );
-    }
-    return rangeWhereCantBeBySensor;
-  }
+  // every sensor as parallel arrays, indexed by sensor -- loaded once, then query as many rows or bounds as wanted
+  private static class Sensors {
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] ranges; // manhattan distance to the closest beacon, so nothing else can be within it
+    private final int[] beaconXs;
+    private final int[] beaconYs;
+
+    Sensors(int numSensors) {
+      xs = new int[numSensors];
+      ys = new int[numSensors];
+      ranges = new int[numSensors];
+      beaconXs = new int[numSensors];
+      beaconYs = new int[numSensors];
+    }
 
-  private int calculateManhattanDistance(Coord start, Coord end) {
-    return (
-      Math.abs(start.getX() - end.getX()) + Math.abs(start.getY() - end.getY())
-    );
-  }
+    void set(int i, Coord sensor, Coord closestBeacon) {
+      xs[i] = sensor.getX();
+      ys[i] = sensor.getY();
+      beaconXs[i] = closestBeacon.getX();
+      beaconYs[i] = closestBeacon.getY();
+      ranges[i] =
+        Math.abs(xs[i] - beaconXs[i]) + Math.abs(ys[i] - beaconYs[i]);
+    }
 
-  private boolean withinRangeOfAnySensor(
-    Map<Coord, Integer> rangeWhereCantBeBySensor,
-    Coord current
-  ) {
-    for (Coord sensor : rangeWhereCantBeBySensor.keySet()) {
-      int range = rangeWhereCantBeBySensor.get(sensor);
-      int distToSensor = calculateManhattanDistance(current, sensor);
-      if (distToSensor <= range) {
-        return true;
+    // each sensor covers one contiguous run of the row, so merge those runs & count their lengths,
+    // then take back out the beacons that are actually sitting on the row
+    public int numCantBeOnRow(int y) {
+      int[] covered = mergedCoveredIntervalsOnRow(y);
+      int numCantBeOnRow = 0;
+      for (int i = 0; i < covered.length; i += 2) {
+        numCantBeOnRow += covered[i + 1] - covered[i] + 1;
       }
+
+      // always within their own sensor's run, so always counted above -- but several sensors can share one
+      int[] beaconXsOnRow = IntStream
+        .range(0, beaconXs.length)
+        .filter(i -> beaconYs[i] == y)
+        .map(i -> beaconXs[i])
+        .distinct()
+        .toArray();
+      return numCantBeOnRow - beaconXsOnRow.length;
     }
-    return false;
-  }
 
-  private Set<List<Coord>> calcBotAndRightDiamondPointCoordsForAllSensors(
-    Map<Coord, Integer> rangeWhereCantBeBySensor
-  ) {
-    Set<List<Coord>> calcBotAndRightDiamondPointCoordsForAllSensors = new HashSet<>();
-    for (Coord sensor : rangeWhereCantBeBySensor.keySet()) {
-      int range = rangeWhereCantBeBySensor.get(sensor);
-      Coord bot = new Coord(sensor.getX(), sensor.getY() - range);
-      Coord right = new Coord(sensor.getX() + range, sensor.getY());
-      calcBotAndRightDiamondPointCoordsForAllSensors.add(List.of(bot, right));
-    }
-    return calcBotAndRightDiamondPointCoordsForAllSensors;
-  }
+    public Coord findUncoveredSpot(int bound) {
+      Optional<Coord> onBoundaryLines = findUncoveredSpotOnBoundaryLines(bound);
+      return onBoundaryLines.isPresent()
+        ? onBoundaryLines.get()
+        : findUncoveredSpotByScanningRows(bound);
+    }
 
-  private Coord findAvailablePointOneToRightOfBotRightLine(
-    Set<List<Coord>> botAndRightDiamondPointCoordsForAllSensors,
-    Map<Coord, Integer> rangeWhereCantBeBySensor,
-    long bound
-  ) {
-    for (List<Coord> botAndRightDiamondPointCoordsForSensor : botAndRightDiamondPointCoordsForAllSensors) {
-      Coord bot = botAndRightDiamondPointCoordsForSensor.get(0);
-      Coord right = botAndRightDiamondPointCoordsForSensor.get(1);
-
-      for (int i = 0; i <= calculateManhattanDistance(bot, right) / 2; i++) {
-        Coord currentPointOnLine = new Coord(bot.getX() + i, bot.getY() + i);
-        Coord oneToRight = new Coord(
-          currentPointOnLine.getX() + 1,
-          currentPointOnLine.getY()
-        );
+    // sorted, non-overlapping runs of row y that some sensor covers, as fromX, toX pairs
+    private int[] mergedCoveredIntervalsOnRow(int y) {
+      // from in the high half & to in the low, so sorting orders by from
+      long[] intervals = new long[xs.length];
+      int numIntervals = 0;
+      for (int i = 0; i < xs.length; i++) {
+        int halfWidth = ranges[i] - Math.abs(ys[i] - y);
+        if (halfWidth >= 0) {
+          intervals[numIntervals++] =
+            ((long) (xs[i] - halfWidth) << 32) |
+            ((xs[i] + halfWidth) & 0xFFFFFFFFL);
+        }
+      }
+      Arrays.sort(intervals, 0, numIntervals);
+
+      int[] merged = new int[numIntervals * 2];
+      int numMerged = 0;
+      for (int i = 0; i < numIntervals; i++) {
+        int from = (int) (intervals[i] >> 32);
+        int to = (int) intervals[i];
+        if (numMerged > 0 && from <= merged[numMerged - 1] + 1) {
+          merged[numMerged - 1] = Math.max(merged[numMerged - 1], to);
+        } else {
+          merged[numMerged++] = from;
+          merged[numMerged++] = to;
+        }
+      }
+      return Arrays.copyOf(merged, numMerged);
+    }
 
-        if (
-          isInBounds(oneToRight, bound) &&
-          !withinRangeOfAnySensor(rangeWhereCantBeBySensor, oneToRight)
-        ) {
-          return oneToRight;
+    private boolean withinRangeOfAnySensor(int x, int y) {
+      for (int i = 0; i < xs.length; i++) {
+        if (Math.abs(xs[i] - x) + Math.abs(ys[i] - y) <= ranges[i]) {
+          return true;
         }
       }
+      return false;
     }
-    throw new IllegalArgumentException("theoretically impossible");
-  }
 
-  private boolean isInBounds(Coord coord, long bound) {
-    return (
-      (coord.getX() >= 0 && coord.getX() <= bound) &&
-      (coord.getY() >= 0 && coord.getY() <= bound)
-    );
+    // there's only one uncovered spot, so unless it's up against the edge of the search area, it's hemmed in on
+    // every side by cells just out of some sensor's range -- i.e. it's where two of those just-outside diamond
+    // edges cross. each edge is a line x + y = a (/) or x - y = b (\), so try every a & b pair
+    private Optional<Coord> findUncoveredSpotOnBoundaryLines(int bound) {
+      int[] sumLines = new int[xs.length * 2];
+      int[] diffLines = new int[xs.length * 2];
+      for (int i = 0; i < xs.length; i++) {
+        int justOutOfRange = ranges[i] + 1;
+        sumLines[2 * i] = xs[i] + ys[i] - justOutOfRange;
+        sumLines[2 * i + 1] = xs[i] + ys[i] + justOutOfRange;
+        diffLines[2 * i] = xs[i] - ys[i] - justOutOfRange;
+        diffLines[2 * i + 1] = xs[i] - ys[i] + justOutOfRange;
+      }
+
+      for (int sum : sumLines) {
+        for (int diff : diffLines) {
+          if (((sum ^ diff) & 1) != 0) {
+            continue; // cross in between cells
+          }
+          int x = (sum + diff) / 2;
+          int y = (sum - diff) / 2;
+          if (isInBounds(x, y, bound) && !withinRangeOfAnySensor(x, y)) {
+            return Optional.of(new Coord(x, y));
+          }
+        }
+      }
+      return Optional.empty();
+    }
+
+    // for when the spot's on the edge of the search area -- check every row, in parallel, for a gap in its merged runs
+    private Coord findUncoveredSpotByScanningRows(int bound) {
+      return IntStream
+        .rangeClosed(0, bound)
+        .parallel()
+        .mapToObj(y -> findUncoveredSpotOnRow(y, bound))
+        .flatMap(Optional::stream)
+        .findAny()
+        .orElseThrow(() ->
+          new IllegalArgumentException("No uncovered spot within 0.." + bound)
+        );
+    }
+
+    private Optional<Coord> findUncoveredSpotOnRow(int y, int bound) {
+      int[] covered = mergedCoveredIntervalsOnRow(y);
+      int x = 0;
+      for (int i = 0; i < covered.length && covered[i] <= x; i += 2) {
+        x = Math.max(x, covered[i + 1] + 1);
+      }
+      return x <= bound ? Optional.of(new Coord(x, y)) : Optional.empty();
+    }
+
+    private static boolean isInBounds(int x, int y, int bound) {
+      return (x >= 0 && x <= bound) && (y >= 0 && y <= bound);
+    }
   }
 
   private static class Coord {
@@ -1,74 +1,82 @@
 package days;
 
 import com.google.common.base.Splitter;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
-public class Day16 implements Day {
+public class Day16 implements Day<Integer, Integer> {
 
-  private Map<Traversal, Integer> distancesBetweenValves;
-  private Map<String, Integer> flowRateByValve;
-  private Map<FlowEntry, Integer> totalFlowForEntry = new HashMap<>();
+  private static final String START_VALVE = "AA";
 
-  public void part1(List<String> input) {
+  // valves with flow > 0 are interned to 0..n-1 so a set of them fits in a long, and the start valve is n
+  private int[] flowRateByValve;
+  private int[][] distancesBetweenValves;
+  private int startValve;
+  private MaskMemo[][] totalFlowForEntry;
+
+  public Integer part1(List<String> input) {
     parseInput(input);
 
-    totalFlowForEntry = new HashMap<>();
-    int maxFlow = findMaxFlow(
-      "AA",
-      30,
-      new HashSet<>(flowRateByValve.keySet())
-    );
-    System.out.println("max flow: " + maxFlow);
+    int maxFlow = findMaxFlow(startValve, 30, allValvesMask());
+    return maxFlow;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     parseInput(input);
 
-    Set<String> v = flowRateByValve.keySet();
-    Set<Set<String>> power = Sets.powerSet(v);
-    Set<Set<Set<String>>> combosOfMeAndEle = new HashSet<>();
-    for (Set<String> p : power) {
-      Set<String> other = Sets.difference(v, p);
-      combosOfMeAndEle.add(Set.of(p, other));
+    long allValves = allValvesMask();
+    if (startValve > MAX_VALVES_TO_SPLIT) {
+      throw new IllegalArgumentException(
+        "Can only split up to " +
+        MAX_VALVES_TO_SPLIT +
+        " valves with flow, got " +
+        startValve
+      );
     }
 
-    int best = 0;
-    for (Set<Set<String>> combo : combosOfMeAndEle) {
-      List<Set<String>> items = new ArrayList<>(combo);
-      Set<String> valvesForMe = items.get(0);
-      Set<String> valvesForEle = items.get(1);
-
-      totalFlowForEntry = new HashMap<>();
-      int forMe = findMaxFlow("AA", 26, valvesForMe);
-
-      totalFlowForEntry = new HashMap<>();
-      int forEle = findMaxFlow("AA", 26, valvesForEle);
-
-      if (forMe + forEle > best) {
-        best = forMe + forEle;
-      }
+    // one pass over every route I could take alone, keeping the best flow for each exact set of valves opened
+    int[] bestFlowByOpened = new int[1 << startValve];
+    recordBestFlowByOpened(startValve, 26, 0L, 0, bestFlowByOpened);
+
+    // then bestFlowWithin[set] = best over everything opened inside that set
+    int[] bestFlowWithin = bestFlowByOpened.clone();
+    for (int valve = 0; valve < startValve; valve++) {
+      int bit = 1 << valve;
+      IntStream
+        .range(0, bestFlowWithin.length)
+        .parallel()
+        .filter(opened -> (opened & bit) != 0)
+        .forEach(opened ->
+          bestFlowWithin[opened] =
+            Math.max(bestFlowWithin[opened], bestFlowWithin[opened ^ bit])
+        );
     }
 
-    System.out.println("max flow: " + best);
+    // so the best split is whatever I open plus the best the elephant can do with everything else
+    return IntStream
+      .range(0, bestFlowByOpened.length)
+      .parallel()
+      .map(forMe ->
+        bestFlowByOpened[forMe] + bestFlowWithin[(int) (allValves & ~forMe)]
+      )
+      .max()
+      .orElse(0);
   }
 
   private static final int DISTANCE_UPPER = 1000;
+  private static final int MAX_USEFUL_VALVES = Long.SIZE;
+  private static final int MAX_VALVES_TO_SPLIT = 26; // 2^26 ints is already 256MB
 
   private void parseInput(List<String> input) {
-    distancesBetweenValves = new HashMap<>();
-    flowRateByValve = new HashMap<>();
-
-    List<String> valves = new ArrayList<>();
+    Map<String, Integer> indexByValve = new HashMap<>();
+    List<Integer> flowRates = new ArrayList<>();
+    List<List<String>> tunnelsByValve = new ArrayList<>();
 
     String pattern = "Valve (\\D+) has.*=(\\d+).*valves? (.*)";
     Pattern r = Pattern.compile(pattern);
@@ -78,57 +86,75 @@ public class Day16 implements Day {
       Matcher m = r.matcher(line);
       m.find();
 
-      String valveName = m.group(1);
-      valves.add(valveName);
-
-      int flowRate = Integer.parseInt(m.group(2));
-      if (flowRate > 0) {
-        flowRateByValve.put(valveName, flowRate);
-      }
+      indexByValve.put(m.group(1), indexByValve.size());
+      flowRates.add(Integer.parseInt(m.group(2)));
+      tunnelsByValve.add(COMMA.splitToList(m.group(3)));
+    }
 
-      List<String> targets = COMMA.splitToList(m.group(3));
-      for (String target : targets) {
-        distancesBetweenValves.put(new Traversal(valveName, target), 1);
+    int numValves = indexByValve.size();
+    int[][] distances = new int[numValves][numValves];
+    for (int i = 0; i < numValves; i++) {
+      Arrays.fill(distances[i], DISTANCE_UPPER);
+      distances[i][i] = 0;
+      for (String target : tunnelsByValve.get(i)) {
+        distances[i][indexByValve.get(target)] = 1;
       }
     }
 
     // Floyd-Warshall
-    for (String valve : valves) {
-      distancesBetweenValves.put(new Traversal(valve, valve), 0);
-    }
-    for (int k = 0; k < valves.size(); k++) {
-      for (int i = 0; i < valves.size(); i++) {
-        for (int j = 0; j < valves.size(); j++) {
-          int dist_ij = distancesBetweenValves.computeIfAbsent(
-            new Traversal(valves.get(i), valves.get(j)),
-            ignore -> DISTANCE_UPPER
-          );
-          int dist_ik = distancesBetweenValves.computeIfAbsent(
-            new Traversal(valves.get(i), valves.get(k)),
-            ignore -> DISTANCE_UPPER
-          );
-          int dist_kj = distancesBetweenValves.computeIfAbsent(
-            new Traversal(valves.get(k), valves.get(j)),
-            ignore -> DISTANCE_UPPER
-          );
-
-          if (dist_ik + dist_kj < dist_ij) {
-            distancesBetweenValves.put(
-              new Traversal(valves.get(i), valves.get(j)),
-              dist_ik + dist_kj
-            );
+    for (int k = 0; k < numValves; k++) {
+      for (int i = 0; i < numValves; i++) {
+        for (int j = 0; j < numValves; j++) {
+          if (distances[i][k] + distances[k][j] < distances[i][j]) {
+            distances[i][j] = distances[i][k] + distances[k][j];
           }
         }
       }
     }
+
+    // only the useful valves & the start matter from here on
+    List<Integer> keptValves = new ArrayList<>();
+    for (int i = 0; i < numValves; i++) {
+      if (flowRates.get(i) > 0) {
+        keptValves.add(i);
+      }
+    }
+    if (keptValves.size() > MAX_USEFUL_VALVES) {
+      throw new IllegalArgumentException(
+        "Can only track " +
+        MAX_USEFUL_VALVES +
+        " valves with flow, got " +
+        keptValves.size()
+      );
+    }
+    startValve = keptValves.size();
+    keptValves.add(indexByValve.get(START_VALVE));
+
+    flowRateByValve = new int[startValve];
+    distancesBetweenValves = new int[keptValves.size()][keptValves.size()];
+    for (int i = 0; i < keptValves.size(); i++) {
+      if (i < startValve) {
+        flowRateByValve[i] = flowRates.get(keptValves.get(i));
+      }
+      for (int j = 0; j < keptValves.size(); j++) {
+        distancesBetweenValves[i][j] =
+          distances[keptValves.get(i)][keptValves.get(j)];
+      }
+    }
+
+    totalFlowForEntry = new MaskMemo[keptValves.size()][31];
+  }
+
+  private long allValvesMask() {
+    return startValve == Long.SIZE ? -1L : (1L << startValve) - 1;
   }
 
   private int findMaxFlow(
-    String currentValve,
+    int currentValve,
     int timeRemaining,
-    Set<String> availableValves
+    long availableValves
   ) {
-    if (availableValves.isEmpty()) {
+    if (availableValves == 0L) {
       return 0;
     }
 
@@ -136,128 +162,138 @@ public class Day16 implements Day {
       return 0;
     }
 
-    if (availableValves.size() == 1) {
-      String targetValve = Iterables.getOnlyElement(availableValves);
-      int toGetThere = distancesBetweenValves.get(
-        new Traversal(currentValve, targetValve)
-      );
+    if (Long.bitCount(availableValves) == 1) {
+      int targetValve = Long.numberOfTrailingZeros(availableValves);
+      int toGetThere = distancesBetweenValves[currentValve][targetValve];
       if (toGetThere + 1 < timeRemaining) {
         return (
-          (timeRemaining - toGetThere - 1) * flowRateByValve.get(targetValve)
+          (timeRemaining - toGetThere - 1) * flowRateByValve[targetValve]
         );
       } else {
         return 0;
       }
     }
 
-    FlowEntry key = new FlowEntry(currentValve, timeRemaining, availableValves);
-    if (totalFlowForEntry.containsKey(key)) {
-      return totalFlowForEntry.get(key);
+    MaskMemo memo = totalFlowForEntry[currentValve][timeRemaining];
+    if (memo == null) {
+      memo = new MaskMemo();
+      totalFlowForEntry[currentValve][timeRemaining] = memo;
+    }
+    int memoized = memo.get(availableValves);
+    if (memoized != MaskMemo.ABSENT) {
+      return memoized;
     }
 
     int best = 0;
-    for (String availableValve : availableValves) {
-      Set<String> availableAsideFromThis = newSetExcluding(
-        availableValves,
-        availableValve
-      );
-      int toGetThere = distancesBetweenValves.get(
-        new Traversal(currentValve, availableValve)
-      );
+    for (long rest = availableValves; rest != 0L; rest &= rest - 1) {
+      int availableValve = Long.numberOfTrailingZeros(rest);
+      int toGetThere = distancesBetweenValves[currentValve][availableValve];
+      int timeAfterOpening = timeRemaining - toGetThere - 1;
+      if (timeAfterOpening <= 0) {
+        continue;
+      }
       int curr =
-        (
-          flowRateByValve.get(availableValve) * (timeRemaining - toGetThere - 1)
-        ) +
+        (flowRateByValve[availableValve] * timeAfterOpening) +
         findMaxFlow(
           availableValve,
-          timeRemaining - toGetThere - 1,
-          availableAsideFromThis
+          timeAfterOpening,
+          availableValves & ~(1L << availableValve)
         );
       if (curr > best) {
         best = curr;
       }
     }
 
-    totalFlowForEntry.put(key, best);
+    memo.put(availableValves, best);
     return best;
   }
 
-  private Set<String> newSetExcluding(Set<String> raw, String toExclude) {
-    Set<String> result = new HashSet<>();
-    for (String item : raw) {
-      if (!item.equals(toExclude)) {
-        result.add(item);
+  private void recordBestFlowByOpened(
+    int currentValve,
+    int timeRemaining,
+    long opened,
+    int flowSoFar,
+    int[] bestFlowByOpened
+  ) {
+    if (flowSoFar > bestFlowByOpened[(int) opened]) {
+      bestFlowByOpened[(int) opened] = flowSoFar;
+    }
+
+    for (long rest = allValvesMask() & ~opened; rest != 0L; rest &= rest - 1) {
+      int nextValve = Long.numberOfTrailingZeros(rest);
+      int toGetThere = distancesBetweenValves[currentValve][nextValve];
+      int timeAfterOpening = timeRemaining - toGetThere - 1;
+      if (timeAfterOpening <= 0) {
+        continue;
       }
+      recordBestFlowByOpened(
+        nextValve,
+        timeAfterOpening,
+        opened | (1L << nextValve),
+        flowSoFar + flowRateByValve[nextValve] * timeAfterOpening,
+        bestFlowByOpened
+      );
     }
-    return result;
   }
 
-  private static class Traversal {
+  // open-addressing valve mask -> total flow map, so lookups don't box or build sets
+  private static class MaskMemo {
 
-    private final String from;
-    private final String to;
+    private static final int ABSENT = -1; // flows are never negative
 
-    Traversal(String from, String to) {
-      this.from = from;
-      this.to = to;
-    }
+    private long[] masks = new long[16];
+    private int[] flows = newFlows(16);
+    private int size;
 
-    @Override
-    public String toString() {
-      return "(" + from + "->" + to + ")";
+    public int get(long mask) {
+      int i = slot(mask, masks.length);
+      while (flows[i] != ABSENT && masks[i] != mask) {
+        i = (i + 1) & (masks.length - 1);
+      }
+      return flows[i];
     }
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
+    public void put(long mask, int flow) {
+      if ((size + 1) * 2 > masks.length) {
+        resize();
       }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
+      int i = slot(mask, masks.length);
+      while (flows[i] != ABSENT && masks[i] != mask) {
+        i = (i + 1) & (masks.length - 1);
       }
-      Traversal traversal = (Traversal) o;
-      return (
-        Objects.equals(from, traversal.from) && Objects.equals(to, traversal.to)
-      );
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(from, to);
+      if (flows[i] == ABSENT) {
+        size++;
+      }
+      masks[i] = mask;
+      flows[i] = flow;
     }
-  }
-
-  private static class FlowEntry {
-
-    private final String valve;
-    private final int timeRemaining;
-    private final Set<String> availableValves;
 
-    FlowEntry(String valve, int timeRemaining, Set<String> availableValves) {
-      this.valve = valve;
-      this.timeRemaining = timeRemaining;
-      this.availableValves = availableValves;
+    private void resize() {
+      long[] oldMasks = masks;
+      int[] oldFlows = flows;
+      masks = new long[oldMasks.length * 2];
+      flows = newFlows(oldMasks.length * 2);
+      for (int j = 0; j < oldMasks.length; j++) {
+        if (oldFlows[j] != ABSENT) {
+          int i = slot(oldMasks[j], masks.length);
+          while (flows[i] != ABSENT) {
+            i = (i + 1) & (masks.length - 1);
+          }
+          masks[i] = oldMasks[j];
+          flows[i] = oldFlows[j];
+        }
+      }
     }
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
-      }
-      FlowEntry flowEntry = (FlowEntry) o;
-      return (
-        timeRemaining == flowEntry.timeRemaining &&
-        Objects.equals(valve, flowEntry.valve) &&
-        Objects.equals(availableValves, flowEntry.availableValves)
-      );
+    private static int slot(long mask, int capacity) {
+      long h = mask * 0x9E3779B97F4A7C15L;
+      return (int) (h >>> 32) & (capacity - 1);
     }
 
-    @Override
-    public int hashCode() {
-      return Objects.hash(valve, timeRemaining, availableValves);
+    private static int[] newFlows(int capacity) {
+      int[] flows = new int[capacity];
+      Arrays.fill(flows, ABSENT);
+      return flows;
     }
   }
 }
@@ -1,443 +1,190 @@
 package days;
 
 import com.google.common.collect.ImmutableMap;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
+import utils.CycleDetector;
 
-public class Day17 implements Day {
+public class Day17 implements Day<Long, Long> {
 
-  private static final long LEFT_WALL_X = 0L;
-  private static final long RIGHT_WALL_X = 8L;
-  // valid area -- x=1-7
-  private static final long FLOOR_Y = 0;
+  // chamber is 7 wide -- each row is a 7-bit mask, bit 6 = left-most column, bit 0 = right-most
+  // a rock is up to 4 rows packed into an int, one byte per row, bottom row in the lowest byte
+  private static final int FULL_ROW = 0x7F;
+  private static final int LEFT_EDGE_BITS = 0x40404040;
+  private static final int RIGHT_EDGE_BITS = 0x01010101;
 
-  private long finalHighestRockY;
-  private long heightViaCycles;
+  // some jet patterns keep a column open all the way down, so the flood fill alone never raises the floor --
+  // anything this far below the top is treated as solid too, which keeps the chamber & the cycle key bounded
+  private static final int MAX_REACHABLE_DEPTH = 128;
+  private static final int MIN_MEMOS_KEPT = 1 << 16;
 
-  public void part1(List<String> input) {
-    List<Direction> jets = parseInput(input);
-
-    finalHighestRockY = 0;
-    heightViaCycles = 0;
-
-    fallRocks(jets, 2022L);
-
-    System.out.println("Height: " + finalHighestRockY);
+  public Long part1(List<String> input) {
+    return towerHeight(parseInput(input), 2022L);
   }
 
-  public void part2(List<String> input) {
-    List<Direction> jets = parseInput(input);
-
-    finalHighestRockY = 0;
-    heightViaCycles = 0;
-
-    fallRocks(jets, 1000000000000L);
-
-    System.out.println("Height: " + (heightViaCycles + finalHighestRockY));
+  public Long part2(List<String> input) {
+    return towerHeight(parseInput(input), 1000000000000L);
   }
 
-  private List<Direction> parseInput(List<String> input) {
-    List<Direction> jets = new ArrayList<>();
-    for (char c : input.get(0).toCharArray()) {
-      jets.add(Direction.fromChar(c));
+  private Direction[] parseInput(List<String> input) {
+    String line = input.get(0);
+    Direction[] jets = new Direction[line.length()];
+    for (int i = 0; i < line.length(); i++) {
+      jets[i] = Direction.fromChar(line.charAt(i));
     }
     return jets;
   }
 
-  private Set<Coord> fallRocks(List<Direction> jets, long maxRocks) {
-    Map<RockMemo, RockState> memo = new HashMap<>();
-
-    Set<Coord> grid = new HashSet<>();
-
-    long highestRockY = FLOOR_Y;
-
-    for (long x = 1L; x <= 7L; x++) {
-      grid.add(new Coord(x, FLOOR_Y));
-    }
-
-    long round = 0L;
-
-    boolean newRock = true;
+  private long towerHeight(Direction[] jets, long numRocks) {
+    // a cycle has to line the jets & shapes back up, so give it room for a few laps of both
+    CycleDetector<RockMemo> cycleDetector = new CycleDetector<>(
+      Math.max(MIN_MEMOS_KEPT, 4 * jets.length * Shape.IN_ORDER.length)
+    );
+    Chamber chamber = new Chamber();
+    int jetIndex = 0;
 
-    Shape currShape = null;
-    Coord currShapeBotLeftCoord = null;
+    for (
+      long numRocksSettled = 0L;
+      numRocksSettled < numRocks;
+      numRocksSettled++
+    ) {
+      Shape currShape = Shape.getShape(numRocksSettled);
 
-    long numRocksSettled = 0L;
+      OptionalLong heightViaCycles = cycleDetector.observe(
+        new RockMemo(jetIndex, currShape, chamber.reachableRows()),
+        chamber.getHeight(),
+        numRocks
+      );
+      if (heightViaCycles.isPresent()) {
+        return heightViaCycles.getAsLong();
+      }
 
-    while (numRocksSettled < maxRocks) {
-      if (round % 2 == 0) { //// jet
-        if (newRock) {
-          currShape = Shape.getShape(numRocksSettled);
-          long startYBottomEdge = highestRockY + 4; // 3 in between up from highest
-          currShapeBotLeftCoord =
-            new Coord(currShape.getBotLeftX(), startYBottomEdge);
-          newRock = false;
-        }
+      int rock = currShape.getRows();
+      long botRow = chamber.getHeight() + 3; // 3 in between up from highest, 0-indexed
+      chamber.ensureRowsUpTo(botRow + 4);
 
+      while (true) {
         //// jet
-        Direction jet = getJet(jets, round);
-        boolean canBeMoved = canBeMoved(
-          currShape,
-          currShapeBotLeftCoord,
-          jet,
-          grid
-        );
-        if (canBeMoved) {
-          currShapeBotLeftCoord =
-            jet == Direction.LEFT
-              ? Coord.oneLeft(currShapeBotLeftCoord)
-              : Coord.oneRight(currShapeBotLeftCoord);
+        Direction jet = jets[jetIndex];
+        jetIndex = jetIndex + 1 == jets.length ? 0 : jetIndex + 1;
+        int pushed = push(rock, jet);
+        if (pushed != rock && (pushed & chamber.rowsAt(botRow)) == 0) {
+          rock = pushed;
         }
-      } else { //// fall
-        boolean canFallDown = canFallDown(
-          currShape,
-          currShapeBotLeftCoord,
-          grid
-        );
-        if (!canFallDown) {
-          numRocksSettled++;
-          newRock = true;
-          long topYSettled =
-            currShapeBotLeftCoord.getY() + currShape.getTopYOffsetFromBot();
-          if (topYSettled > highestRockY) {
-            highestRockY = topYSettled;
-          }
-          grid = fillInGrid(currShape, currShapeBotLeftCoord, grid);
-
-          RockMemo currMemoKey = new RockMemo(
-            getCurrentJetIndex(jets, round),
-            currShape,
-            calcRecentRockLayout(grid, highestRockY)
-          );
-          long currentNumRocksSettledToPutInMemo = numRocksSettled; // theoretically not necessary
-          if (
-            numRocksSettled > 2022 && // theoretically not necessary
-            memo.containsKey(currMemoKey) &&
-            heightViaCycles == 0 // theoretically not necessary
-          ) {
-            // then we've seen this same jet-shape-snapshot match before -- cycle detected!
-            RockState sawBefore = memo.get(currMemoKey);
-            long highestRockYBefore = sawBefore.getMaxHeight();
-            long numRocksSettledBefore = sawBefore.getNumRocksSettled();
-
-            long changeInHeightPerCycle = highestRockY - highestRockYBefore;
-            long changeInRocksSettledPerCycle =
-              numRocksSettled - numRocksSettledBefore;
-
-            long numRocksToGo = maxRocks - numRocksSettled;
-            long numFullCyclesPossibleFromHere = Math.floorDiv(
-              numRocksToGo,
-              changeInRocksSettledPerCycle
-            );
-
-            heightViaCycles =
-              changeInHeightPerCycle * numFullCyclesPossibleFromHere;
-            numRocksSettled +=
-              changeInRocksSettledPerCycle * numFullCyclesPossibleFromHere;
-          }
-
-          memo.put(
-            currMemoKey,
-            new RockState(highestRockY, currentNumRocksSettledToPutInMemo)
-          );
-        } else {
-          // else, moved
-          currShapeBotLeftCoord = Coord.oneDown(currShapeBotLeftCoord);
+
+        //// fall
+        if ((rock & chamber.rowsAt(botRow - 1)) != 0) {
+          break;
         }
+        botRow--;
       }
-      round++;
-    }
 
-    finalHighestRockY = highestRockY;
+      chamber.settle(rock, botRow, currShape.getHeight());
+    }
 
-    return grid;
+    return chamber.getHeight();
   }
 
-  private boolean canBeMoved(
-    Shape currShape,
-    Coord botLeftCoord,
-    Direction jet,
-    Set<Coord> grid
-  ) {
+  // returns the rock unchanged if a wall is in the way
+  private int push(int rock, Direction jet) {
     if (jet == Direction.LEFT) {
-      long farthestLeftXCoord = getFarthestLeftXCoordOfShape(
-        currShape,
-        botLeftCoord
-      );
-      if (farthestLeftXCoord <= LEFT_WALL_X + 1) {
-        return false;
-      }
-      return canSafelyMoveToLeft(currShape, botLeftCoord, grid);
-    } else { // RIGHT
-      long farthestRightXCoord = getFarthestRightXCoordOfShape(
-        currShape,
-        botLeftCoord
-      );
-      if (farthestRightXCoord >= RIGHT_WALL_X - 1) {
-        return false;
-      }
-      return canSafelyMoveToRight(currShape, botLeftCoord, grid);
+      return (rock & LEFT_EDGE_BITS) == 0 ? rock << 1 : rock;
     }
+    return (rock & RIGHT_EDGE_BITS) == 0 ? rock >>> 1 : rock;
   }
 
-  // only shape where botLeftCoord's x isn't representative of farthest left is PLUS, where we want to -1
-  private long getFarthestLeftXCoordOfShape(
-    Shape currShape,
-    Coord botLeftCoord
-  ) {
-    return currShape == Shape.PLUS
-      ? botLeftCoord.getX() - 1
-      : botLeftCoord.getX();
-  }
+  // ring buffer of rows -- only keeps from the lowest row a rock could still reach up to the top,
+  // everything below that is treated as solid (which it effectively is)
+  private static class Chamber {
 
-  private long getFarthestRightXCoordOfShape(
-    Shape currShape,
-    Coord botLeftCoord
-  ) {
-    return (
-      botLeftCoord.getX() +
-      switch (currShape) {
-        case HORIZ_LINE -> 3;
-        case PLUS -> 1;
-        case ELBOW -> 2;
-        case VERT_LINE -> 0;
-        case SQUARE -> 1;
-      }
-    );
-  }
+    private byte[] ring = new byte[1 << 7];
+    private long floor = 0L; // lowest row still kept
+    private long clearedUpTo = 0L; // rows from here up haven't been zeroed out for reuse yet
+    private long height = 0L;
 
-  // see if any coords that have open left-face (left-most on each y) will collide
-  private boolean canSafelyMoveToLeft(
-    Shape currShape,
-    Coord botLeftCoord,
-    Set<Coord> grid
-  ) {
-    Set<Coord> currents = new HashSet<>();
-
-    if (currShape == Shape.HORIZ_LINE) {
-      currents.add(botLeftCoord);
-    } else if (currShape == Shape.PLUS) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() - 1, botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2));
-    } else if (currShape == Shape.ELBOW) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 2));
-    } else if (currShape == Shape.VERT_LINE) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 3));
-    } else if (currShape == Shape.SQUARE) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1));
+    public long getHeight() {
+      return height;
     }
 
-    Set<Coord> wouldMoveTo = currents
-      .stream()
-      .map(current -> new Coord(current.getX() - 1, current.getY()))
-      .collect(Collectors.toSet());
-
-    boolean willCollide = grid.stream().anyMatch(wouldMoveTo::contains);
-    return !willCollide;
-  }
-
-  // see if any coords that have open right-face (right-most on each y) will collide
-  private boolean canSafelyMoveToRight(
-    Shape currShape,
-    Coord botLeftCoord,
-    Set<Coord> grid
-  ) {
-    Set<Coord> currents = new HashSet<>();
-
-    if (currShape == Shape.HORIZ_LINE) {
-      currents.add(new Coord(botLeftCoord.getX() + 3, botLeftCoord.getY()));
-    } else if (currShape == Shape.PLUS) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2));
-    } else if (currShape == Shape.ELBOW) {
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY()));
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 2));
-    } else if (currShape == Shape.VERT_LINE) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2));
-      currents.add(new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 3));
-    } else if (currShape == Shape.SQUARE) {
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY()));
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY() + 1));
+    public void ensureRowsUpTo(long rowExclusive) {
+      if (rowExclusive - floor > ring.length) {
+        grow(rowExclusive - floor);
+      }
+      for (; clearedUpTo < rowExclusive; clearedUpTo++) {
+        ring[slot(clearedUpTo)] = 0;
+      }
     }
 
-    Set<Coord> wouldMoveTo = currents
-      .stream()
-      .map(current -> new Coord(current.getX() + 1, current.getY()))
-      .collect(Collectors.toSet());
-
-    boolean willCollide = grid.stream().anyMatch(wouldMoveTo::contains);
-    return !willCollide;
-  }
-
-  // see if any ones that have open down-face (down-most on each x) will collide
-  private boolean canFallDown(
-    Shape currShape,
-    Coord botLeftCoord,
-    Set<Coord> grid
-  ) {
-    // first check floor
-    if (botLeftCoord.getY() - 1 == FLOOR_Y) {
-      return false;
+    // the 4 rows starting at botRow, packed the same way as a rock
+    public int rowsAt(long botRow) {
+      return (
+        row(botRow) |
+        row(botRow + 1) << 8 |
+        row(botRow + 2) << 16 |
+        row(botRow + 3) << 24
+      );
     }
 
-    Set<Coord> currents = new HashSet<>();
-
-    if (currShape == Shape.HORIZ_LINE) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY()));
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY()));
-      currents.add(new Coord(botLeftCoord.getX() + 3, botLeftCoord.getY()));
-    } else if (currShape == Shape.PLUS) {
-      currents.add(new Coord(botLeftCoord.getX() - 1, botLeftCoord.getY() + 1));
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY() + 1));
-    } else if (currShape == Shape.ELBOW) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY()));
-      currents.add(new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY()));
-    } else if (currShape == Shape.VERT_LINE) {
-      currents.add(botLeftCoord);
-    } else if (currShape == Shape.SQUARE) {
-      currents.add(botLeftCoord);
-      currents.add(new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY()));
+    public void settle(int rock, long botRow, int rockHeight) {
+      for (long row = botRow; rock != 0; row++, rock >>>= 8) {
+        ring[slot(row)] |= (byte) rock;
+      }
+      height = Math.max(height, botRow + rockHeight);
+      raiseFloor();
     }
 
-    Set<Coord> wouldMoveTo = currents
-      .stream()
-      .map(current -> new Coord(current.getX(), current.getY() - 1))
-      .collect(Collectors.toSet());
-
-    boolean willCollide = grid.stream().anyMatch(wouldMoveTo::contains);
-    return !willCollide;
-  }
-
-  private Set<Coord> fillInGrid(
-    Shape currShape,
-    Coord botLeftCoord,
-    Set<Coord> grid
-  ) {
-    Set<Coord> postSettle = new HashSet<>(grid);
-    postSettle.addAll(getAllShapeCoordsFromBotLeft(currShape, botLeftCoord));
-    return postSettle;
-  }
-
-  private Set<Coord> getAllShapeCoordsFromBotLeft(
-    Shape shape,
-    Coord botLeftCoord
-  ) {
-    return switch (shape) {
-      case HORIZ_LINE -> {
-        Set<Coord> shapeCoords = new HashSet<>();
-        shapeCoords.add(botLeftCoord);
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY())
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY())
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 3, botLeftCoord.getY())
-        );
-        yield shapeCoords;
-      }
-      case PLUS -> {
-        Set<Coord> shapeCoords = new HashSet<>();
-        shapeCoords.add(botLeftCoord);
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() - 1, botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2)
-        );
-        yield shapeCoords;
-      }
-      case ELBOW -> {
-        Set<Coord> shapeCoords = new HashSet<>();
-        shapeCoords.add(botLeftCoord);
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY())
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY())
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 2, botLeftCoord.getY() + 2)
-        );
-        yield shapeCoords;
+    public byte[] reachableRows() {
+      byte[] rows = new byte[(int) (height - floor)];
+      for (int i = 0; i < rows.length; i++) {
+        rows[i] = ring[slot(floor + i)];
       }
-      case VERT_LINE -> {
-        Set<Coord> shapeCoords = new HashSet<>();
-        shapeCoords.add(botLeftCoord);
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 2)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 3)
-        );
-        yield shapeCoords;
-      }
-      case SQUARE -> {
-        Set<Coord> shapeCoords = new HashSet<>();
-        shapeCoords.add(botLeftCoord);
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX(), botLeftCoord.getY() + 1)
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY())
-        );
-        shapeCoords.add(
-          new Coord(botLeftCoord.getX() + 1, botLeftCoord.getY() + 1)
-        );
-        yield shapeCoords;
+      return rows;
+    }
+
+    // flood down from the empty row above the top, a row at a time -- a rock cell can only ever move left, right,
+    // or down through empty cells, so whatever's below the lowest row this reaches can't matter anymore
+    private void raiseFloor() {
+      int reachable = FULL_ROW;
+      long lowestReached = height;
+      while (lowestReached > floor) {
+        int empty = ~row(lowestReached - 1) & FULL_ROW;
+        int reachedBelow = reachable & empty;
+        if (reachedBelow == 0) {
+          break;
+        }
+        reachable = spreadSideways(reachedBelow, empty);
+        lowestReached--;
       }
-    };
-  }
+      floor = Math.max(lowestReached, height - MAX_REACHABLE_DEPTH);
+    }
 
-  private Direction getJet(List<Direction> jets, long currRound) {
-    return jets.get(getCurrentJetIndex(jets, currRound));
-  }
+    private int spreadSideways(int reached, int empty) {
+      int before;
+      do {
+        before = reached;
+        reached |= ((reached << 1) | (reached >>> 1)) & empty;
+      } while (reached != before);
+      return reached;
+    }
 
-  private int getCurrentJetIndex(List<Direction> jets, long currRound) {
-    return (int) (currRound / 2 % jets.size());
-  }
+    private int row(long row) {
+      return row < floor ? FULL_ROW : ring[slot(row)] & 0xFF;
+    }
+
+    private int slot(long row) {
+      return (int) (row & (ring.length - 1));
+    }
 
-  private Set<Coord> calcRecentRockLayout(Set<Coord> grid, long highestRockY) {
-    Set<Coord> layoutSnapshot = new HashSet<>();
-    for (Coord rock : grid) {
-      if (highestRockY - rock.getY() <= 30) { // this 30 is arbitrary...
-        layoutSnapshot.add(new Coord(rock.getX(), rock.getY() - highestRockY));
+    private void grow(long rowsNeeded) {
+      byte[] grown = new byte[Integer.highestOneBit((int) rowsNeeded) << 1];
+      for (long row = floor; row < clearedUpTo; row++) {
+        grown[(int) (row & (grown.length - 1))] = ring[slot(row)];
       }
+      ring = grown;
     }
-    return layoutSnapshot;
   }
 
   private enum Direction {
@@ -465,113 +212,48 @@ public class Day17 implements Day {
     }
   }
 
+  // rows are as they appear when spawned, i.e. 2 in from the left wall
   private enum Shape {
-    HORIZ_LINE(0, 3, 0),
-    PLUS(1, 4, 2),
-    ELBOW(2, 3, 2),
-    VERT_LINE(3, 3, 3),
-    SQUARE(4, 3, 1);
-
-    private static final Map<Integer, Shape> INDEX_TO_SHAPE = ImmutableMap
-      .<Integer, Shape>builder()
-      .put(HORIZ_LINE.getOrdering(), HORIZ_LINE)
-      .put(PLUS.getOrdering(), PLUS)
-      .put(ELBOW.getOrdering(), ELBOW)
-      .put(VERT_LINE.getOrdering(), VERT_LINE)
-      .put(SQUARE.getOrdering(), SQUARE)
-      .build();
+    HORIZ_LINE(0x1E, 1),
+    PLUS(0x08_1C_08, 3),
+    ELBOW(0x04_04_1C, 3),
+    VERT_LINE(0x10_10_10_10, 4),
+    SQUARE(0x18_18, 2);
 
-    private final int ordering;
-    private final int botLeftX;
-    private final int topYOffsetFromBot;
+    private static final Shape[] IN_ORDER = values();
 
-    Shape(int ordering, int botLeftX, int topYOffsetFromBot) {
-      this.ordering = ordering;
-      this.botLeftX = botLeftX;
-      this.topYOffsetFromBot = topYOffsetFromBot;
-    }
+    private final int rows;
+    private final int height;
 
-    public int getOrdering() {
-      return ordering;
+    Shape(int rows, int height) {
+      this.rows = rows;
+      this.height = height;
     }
 
-    public int getBotLeftX() {
-      return botLeftX;
+    public int getRows() {
+      return rows;
     }
 
-    public int getTopYOffsetFromBot() {
-      return topYOffsetFromBot;
+    public int getHeight() {
+      return height;
     }
 
     public static Shape getShape(long numRocksSettled) {
-      return INDEX_TO_SHAPE.get(
-        (int) (numRocksSettled % INDEX_TO_SHAPE.size())
-      );
-    }
-  }
-
-  private static class Coord {
-
-    private final long x;
-    private final long y;
-
-    Coord(long x, long y) {
-      this.x = x;
-      this.y = y;
-    }
-
-    public long getX() {
-      return x;
-    }
-
-    public long getY() {
-      return y;
-    }
-
-    public static Coord oneLeft(Coord input) {
-      return new Coord(input.getX() - 1, input.getY());
-    }
-
-    public static Coord oneRight(Coord input) {
-      return new Coord(input.getX() + 1, input.getY());
-    }
-
-    public static Coord oneDown(Coord input) {
-      return new Coord(input.getX(), input.getY() - 1);
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
-      }
-      Coord coord = (Coord) o;
-      return x == coord.x && y == coord.y;
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(x, y);
+      return IN_ORDER[(int) (numRocksSettled % IN_ORDER.length)];
     }
   }
 
+  // everything the rest of the simulation depends on -- next jet, next rock, & every row a rock could still reach
   private static class RockMemo {
 
     private final int jetIndex;
     private final Shape rockShape;
-    private final Set<Coord> highestThirtySettledLayoutCoords;
+    private final byte[] reachableRows;
 
-    RockMemo(
-      int jetIndex,
-      Shape rockShape,
-      Set<Coord> highestThirtySettledLayoutCoords
-    ) {
+    RockMemo(int jetIndex, Shape rockShape, byte[] reachableRows) {
       this.jetIndex = jetIndex;
       this.rockShape = rockShape;
-      this.highestThirtySettledLayoutCoords = highestThirtySettledLayoutCoords;
+      this.reachableRows = reachableRows;
     }
 
     @Override
@@ -586,10 +268,7 @@ public class Day17 implements Day {
       return (
         jetIndex == rockMemo.jetIndex &&
         rockShape == rockMemo.rockShape &&
-        Objects.equals(
-          highestThirtySettledLayoutCoords,
-          rockMemo.highestThirtySettledLayoutCoords
-        )
+        Arrays.equals(reachableRows, rockMemo.reachableRows)
       );
     }
 
@@ -598,47 +277,8 @@ public class Day17 implements Day {
       return Objects.hash(
         jetIndex,
         rockShape,
-        highestThirtySettledLayoutCoords
+        Arrays.hashCode(reachableRows)
       );
     }
   }
-
-  private static class RockState {
-
-    private final long maxHeight;
-    private final long numRocksSettled;
-
-    RockState(long maxHeight, long numRocksSettled) {
-      this.maxHeight = maxHeight;
-      this.numRocksSettled = numRocksSettled;
-    }
-
-    public long getMaxHeight() {
-      return maxHeight;
-    }
-
-    public long getNumRocksSettled() {
-      return numRocksSettled;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
-      }
-      RockState rockState = (RockState) o;
-      return (
-        maxHeight == rockState.maxHeight &&
-        numRocksSettled == rockState.numRocksSettled
-      );
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(maxHeight, numRocksSettled);
-    }
-  }
 }
@@ -9,7 +9,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class Day18 implements Day {
+public class Day18 implements Day<Integer, Integer> {
 
   private int maxX = Integer.MIN_VALUE;
   private int minX = Integer.MAX_VALUE;
@@ -20,21 +20,19 @@ public class Day18 implements Day {
   private int maxZ = Integer.MIN_VALUE;
   private int minZ = Integer.MAX_VALUE;
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     List<Cube> cubes = parseInput(input);
     int surfaceArea = sumOpenFaces(cubes);
 
-    System.out.println("Total surface area: " + surfaceArea);
+    return surfaceArea;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     List<Cube> cubes = parseInput(input);
     int surfaceArea = sumOpenFaces(cubes);
 
     int internalSurfaceArea = calculateInternalSurfaceArea(cubes);
-    System.out.println(
-      "Total external surface area: " + (surfaceArea - internalSurfaceArea)
-    );
+    return surfaceArea - internalSurfaceArea;
   }
 
   private static final Splitter COMMA = Splitter.on(",");
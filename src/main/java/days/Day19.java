@@ -1,301 +1,62 @@
 package days;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedList;
+import days.GeodeSolver.Blueprint;
 import java.util.List;
-import java.util.Queue;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
-public class Day19 implements Day {
+public class Day19 implements Day<Integer, Integer> {
 
-  public void part1(List<String> input) {
-    List<Blueprint> bps = parseInput(input);
+  private final GeodeSolver geodeSolver;
+  // blueprints don't depend on each other, and solvers keep their state per call, so no locking needed
+  private final boolean parallelBlueprints;
 
-    int sumQualityLevels = 0;
-    for (Blueprint bp : bps) {
-      int mostGeodesPossiblyOpened = calcMostGeodesViaBfs(
-        bp.oreRobotOreCost(),
-        bp.clayRobotOreCost(),
-        bp.obsidianRobotOreCost(),
-        bp.obsidianRobotClayClost(),
-        bp.geodeRobotOreCost(),
-        bp.geodeRobotObsidianCost(),
-        24
-      );
-
-      int qualityLevel = bp.id() * mostGeodesPossiblyOpened;
-      System.out.println(
-        "bp " +
-        bp.id() +
-        ": max geodes: " +
-        mostGeodesPossiblyOpened +
-        " | quality level: " +
-        qualityLevel
-      );
-      sumQualityLevels += qualityLevel;
-    }
-    System.out.println("Total quality level sum: " + sumQualityLevels);
+  public Day19() {
+    this(new BranchAndBoundGeodeSolver());
   }
 
-  public void part2(List<String> input) {
-    List<Blueprint> bps = parseInput(input);
-
-    int productOfMaxGeodes = 1;
-    for (int i = 0; i < 3; i++) {
-      Blueprint bp = bps.get(i);
-      int mostGeodesPossiblyOpened = calcMostGeodesViaBfs(
-        bp.oreRobotOreCost(),
-        bp.clayRobotOreCost(),
-        bp.obsidianRobotOreCost(),
-        bp.obsidianRobotClayClost(),
-        bp.geodeRobotOreCost(),
-        bp.geodeRobotObsidianCost(),
-        32
-      );
+  public Day19(GeodeSolver geodeSolver) {
+    this(geodeSolver, true);
+  }
 
-      System.out.println(
-        "bp " + bp.id() + ": max geodes: " + mostGeodesPossiblyOpened
-      );
-      productOfMaxGeodes *= mostGeodesPossiblyOpened;
-    }
-    System.out.println(
-      "Product of first 3 bp max geodes: " + productOfMaxGeodes
-    );
+  public Day19(GeodeSolver geodeSolver, boolean parallelBlueprints) {
+    this.geodeSolver = geodeSolver;
+    this.parallelBlueprints = parallelBlueprints;
   }
 
-  List<Blueprint> parseInput(List<String> input) {
-    List<Blueprint> bps = new ArrayList<>(input.size());
-    String pattern =
-      "Blueprint (\\d+): Each ore robot costs (\\d+) ore. Each clay robot costs (\\d+) ore. Each obsidian robot costs (\\d+) ore and (\\d+) clay. Each geode robot costs (\\d+) ore and (\\d+) obsidian";
-    Pattern r = Pattern.compile(pattern);
-    for (String line : input) {
-      Matcher m = r.matcher(line);
-      m.find();
-      bps.add(
-        new Blueprint(
-          Integer.parseInt(m.group(1)),
-          Integer.parseInt(m.group(2)),
-          Integer.parseInt(m.group(3)),
-          Integer.parseInt(m.group(4)),
-          Integer.parseInt(m.group(5)),
-          Integer.parseInt(m.group(6)),
-          Integer.parseInt(m.group(7))
-        )
-      );
+  public Integer part1(List<String> input) {
+    List<Blueprint> bps = GeodeSolver.parseBlueprints(input);
+    int[] mostGeodesPossiblyOpened = calcMostGeodesPerBlueprint(bps, 24);
+
+    int sumQualityLevels = 0;
+    for (int i = 0; i < bps.size(); i++) {
+      int qualityLevel = bps.get(i).id() * mostGeodesPossiblyOpened[i];
+      sumQualityLevels += qualityLevel;
     }
-    return bps;
+    return sumQualityLevels;
   }
 
-  private int calcMostGeodesViaBfs(
-    int oreRobotOreCost,
-    int clayRobotOreCost,
-    int obsidianRobotOreCost,
-    int obsidianRobotClayClost,
-    int geodeRobotOreCost,
-    int geodeRobotObsidianCost,
-    int maxTime
-  ) {
-    int best = 0;
-
-    OperationState initialState = new OperationState(
-      0,
-      0,
-      0,
-      0,
-      1,
-      0,
-      0,
-      0,
-      maxTime
+  public Integer part2(List<String> input) {
+    List<Blueprint> bps = GeodeSolver.parseBlueprints(input);
+    int[] mostGeodesPossiblyOpened = calcMostGeodesPerBlueprint(
+      bps.subList(0, Math.min(3, bps.size())),
+      32
     );
 
-    Queue<OperationState> q = new LinkedList<>();
-    q.add(initialState);
-
-    Set<OperationState> seen = new HashSet<>();
-
-    while (!q.isEmpty()) {
-      OperationState state = q.poll();
-      int oreAmt = state.oreAmt();
-      int clayAmt = state.clayAmt();
-      int obsAmt = state.obsAmt();
-      int geoAmt = state.geoAmt();
-      int oreRobs = state.oreRobs();
-      int clayRobs = state.clayRobs();
-      int obsRobs = state.obsRobs();
-      int geoRobs = state.geoRobs();
-      int currTimeRemaining = state.timeRemaining();
-
-      best = Math.max(best, geoAmt);
-      if (currTimeRemaining == 0) {
-        continue;
-      }
-
-      int oreMaxCost = Stream
-        .of(
-          oreRobotOreCost,
-          clayRobotOreCost,
-          obsidianRobotOreCost,
-          geodeRobotOreCost
-        )
-        .max(Integer::compareTo)
-        .get();
-
-      // robot culling
-      if (oreRobs >= oreMaxCost) {
-        oreRobs = oreMaxCost;
-      }
-      if (clayRobs >= obsidianRobotClayClost) {
-        clayRobs = obsidianRobotClayClost;
-      }
-      if (obsRobs >= geodeRobotObsidianCost) {
-        obsRobs = geodeRobotObsidianCost;
-      }
-
-      // resource culling
-      int oreEverNeed =
-        (currTimeRemaining * oreMaxCost) - (oreRobs * (currTimeRemaining - 1));
-      if (oreAmt >= oreEverNeed) {
-        oreAmt = oreEverNeed;
-      }
-      int clayEverNeeded =
-        (currTimeRemaining * obsidianRobotClayClost) -
-        (clayRobs * (currTimeRemaining - 1));
-      if (clayAmt >= clayEverNeeded) {
-        clayAmt = clayEverNeeded;
-      }
-      int obsEverNeeded =
-        (currTimeRemaining * geodeRobotObsidianCost) -
-        (obsRobs * (currTimeRemaining - 1));
-      if (obsAmt >= obsEverNeeded) {
-        obsAmt = obsEverNeeded;
-      }
-
-      state =
-        new OperationState(
-          oreAmt,
-          clayAmt,
-          obsAmt,
-          geoAmt,
-          oreRobs,
-          clayRobs,
-          obsRobs,
-          geoRobs,
-          currTimeRemaining
-        );
-
-      if (seen.contains(state)) {
-        continue;
-      }
-      seen.add(state);
-
-      // build nothing
-      q.add(
-        new OperationState(
-          oreAmt + oreRobs,
-          clayAmt + clayRobs,
-          obsAmt + obsRobs,
-          geoAmt + geoRobs,
-          oreRobs,
-          clayRobs,
-          obsRobs,
-          geoRobs,
-          currTimeRemaining - 1
-        )
-      );
-
-      // build stuff
-      if (oreAmt >= oreRobotOreCost) {
-        q.add(
-          new OperationState(
-            oreAmt - oreRobotOreCost + oreRobs,
-            clayAmt + clayRobs,
-            obsAmt + obsRobs,
-            geoAmt + geoRobs,
-            oreRobs + 1,
-            clayRobs,
-            obsRobs,
-            geoRobs,
-            currTimeRemaining - 1
-          )
-        );
-      }
-
-      if (oreAmt >= clayRobotOreCost) {
-        q.add(
-          new OperationState(
-            oreAmt - clayRobotOreCost + oreRobs,
-            clayAmt + clayRobs,
-            obsAmt + obsRobs,
-            geoAmt + geoRobs,
-            oreRobs,
-            clayRobs + 1,
-            obsRobs,
-            geoRobs,
-            currTimeRemaining - 1
-          )
-        );
-      }
-
-      if (oreAmt >= obsidianRobotOreCost && clayAmt >= obsidianRobotClayClost) {
-        q.add(
-          new OperationState(
-            oreAmt - obsidianRobotOreCost + oreRobs,
-            clayAmt - obsidianRobotClayClost + clayRobs,
-            obsAmt + obsRobs,
-            geoAmt + geoRobs,
-            oreRobs,
-            clayRobs,
-            obsRobs + 1,
-            geoRobs,
-            currTimeRemaining - 1
-          )
-        );
-      }
-
-      if (oreAmt >= geodeRobotOreCost && obsAmt >= geodeRobotObsidianCost) {
-        q.add(
-          new OperationState(
-            oreAmt - geodeRobotOreCost + oreRobs,
-            clayAmt + clayRobs,
-            obsAmt - geodeRobotObsidianCost + obsRobs,
-            geoAmt + geoRobs,
-            oreRobs,
-            clayRobs,
-            obsRobs,
-            geoRobs + 1,
-            currTimeRemaining - 1
-          )
-        );
-      }
+    int productOfMaxGeodes = 1;
+    for (int mostGeodes : mostGeodesPossiblyOpened) {
+      productOfMaxGeodes *= mostGeodes;
     }
-
-    return best;
+    return productOfMaxGeodes;
   }
 
-  private record Blueprint(
-    int id,
-    int oreRobotOreCost,
-    int clayRobotOreCost,
-    int obsidianRobotOreCost,
-    int obsidianRobotClayClost,
-    int geodeRobotOreCost,
-    int geodeRobotObsidianCost
-  ) {}
-
-  private record OperationState(
-    int oreAmt,
-    int clayAmt,
-    int obsAmt,
-    int geoAmt,
-    int oreRobs,
-    int clayRobs,
-    int obsRobs,
-    int geoRobs,
-    int timeRemaining
-  ) {}
+  // fanned out over the common ForkJoinPool, which work-steals so a few slow blueprints don't hold up the rest
+  private int[] calcMostGeodesPerBlueprint(List<Blueprint> bps, int maxTime) {
+    IntStream indices = IntStream.range(0, bps.size());
+    if (parallelBlueprints) {
+      indices = indices.parallel();
+    }
+    return indices
+      .map(i -> geodeSolver.mostGeodes(bps.get(i), maxTime))
+      .toArray();
+  }
 }
@@ -1,59 +1,53 @@
 package days;
 
 import com.google.common.base.Splitter;
-import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableList;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
-public class Day2 implements Day {
+public class Day2 implements StreamingDay<Integer, Integer> {
 
   private static final Splitter SPLITTER = Splitter.on(" ");
 
-  public void part1(List<String> input) {
-    List<Integer> roundScores = p1calculateScoresPerRound(input);
-    System.out.println("Round scores: " + roundScores);
+  public LineSolver<Integer> part1Solver() {
+    return new TotalScoreSolver(this::p1calculateRoundScore);
+  }
 
-    int totalScore = roundScores.stream().mapToInt(Integer::intValue).sum();
-    System.out.println("Total score: " + totalScore);
+  public LineSolver<Integer> part2Solver() {
+    return new TotalScoreSolver(this::p2calculateRoundScore);
   }
 
-  public void part2(List<String> input) {
-    List<Integer> roundScores = p2calculateScoresPerRound(input);
-    System.out.println("Round scores: " + roundScores);
+  private int p1calculateRoundScore(List<String> roundInputSplit) {
+    Play opponent = extractOpponentPlay(roundInputSplit);
+    Play mine = extractMyPlay(roundInputSplit);
+    return calculateRoundScore(opponent, mine);
+  }
 
-    int totalScore = roundScores.stream().mapToInt(Integer::intValue).sum();
-    System.out.println("Total score: " + totalScore);
+  private int p2calculateRoundScore(List<String> roundInputSplit) {
+    Play opponent = extractOpponentPlay(roundInputSplit);
+    Outcome desiredOutcome = extractDesiredOutcome(roundInputSplit);
+    Play mine = chooseWhatToPlayForDesiredOutcome(opponent, desiredOutcome);
+    return calculateRoundScore(opponent, mine);
   }
 
-  private List<Integer> p1calculateScoresPerRound(List<String> roundInputs) {
-    ImmutableList.Builder<Integer> roundScores = ImmutableList.builder();
-    for (String roundInput : roundInputs) {
-      if (Strings.isNullOrEmpty(roundInput)) {
-        continue;
-      }
+  private static class TotalScoreSolver implements LineSolver<Integer> {
 
-      List<String> roundInputSplit = SPLITTER.splitToList(roundInput);
-      Play opponent = extractOpponentPlay(roundInputSplit);
-      Play mine = extractMyPlay(roundInputSplit);
-      roundScores.add(calculateRoundScore(opponent, mine));
+    private final ToIntFunction<List<String>> roundScorer;
+    private int totalScore = 0;
+
+    TotalScoreSolver(ToIntFunction<List<String>> roundScorer) {
+      this.roundScorer = roundScorer;
     }
-    return roundScores.build();
-  }
 
-  private List<Integer> p2calculateScoresPerRound(List<String> roundInputs) {
-    ImmutableList.Builder<Integer> roundScores = ImmutableList.builder();
-    for (String roundInput : roundInputs) {
-      if (Strings.isNullOrEmpty(roundInput)) {
-        continue;
+    public void accept(CharSequence roundInput) {
+      if (roundInput.length() == 0) {
+        return;
       }
+      totalScore += roundScorer.applyAsInt(SPLITTER.splitToList(roundInput));
+    }
 
-      List<String> roundInputSplit = SPLITTER.splitToList(roundInput);
-      Play opponent = extractOpponentPlay(roundInputSplit);
-      Outcome desiredOutcome = extractDesiredOutcome(roundInputSplit);
-      Play mine = chooseWhatToPlayForDesiredOutcome(opponent, desiredOutcome);
-      roundScores.add(calculateRoundScore(opponent, mine));
+    public Integer finish() {
+      return totalScore;
     }
-    return roundScores.build();
   }
 
   private int calculateRoundScore(Play opponent, Play mine) {
@@ -1,212 +1,212 @@
 package days;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Random;
 
-public class Day20 implements Day {
+public class Day20 implements Day<Long, Long> {
 
-  // welp, I was sure we'd need to know the eventual ordering -- hence keeping track of 'front'
-  // turns out that was never necessary ¯\_(ツ)_/¯
+  private static final long DECRYPTION_KEY = 811589153L;
+  private static final int NONE = -1;
 
   private int len = 0;
-  private Node front = null;
 
-  public void part1(List<String> input) {
-    List<Long> encrypted = parseInput(input);
+  // an implicit treap over the numbers, with every node's fields in its own array indexed by original position --
+  // no node objects, no map from position to node, & nothing boxed
+  private long[] vals;
+  private int[] priorities;
+  private int[] lefts;
+  private int[] rights;
+  private int[] parents;
+  private int[] sizes; // nodes in this subtree, including this one
 
-    List<Long> decrypted = mix(new ArrayList<>(encrypted), 1);
+  // where split() leaves its two halves
+  private int splitLeft = NONE;
+  private int splitRight = NONE;
+
+  public Long part1(List<String> input) {
+    long[] encrypted = parseInput(input);
+
+    long[] decrypted = mix(encrypted, 1);
 
     long thouth = findCoordinate(1000, decrypted);
     long twothouth = findCoordinate(2000, decrypted);
     long threthouth = findCoordinate(3000, decrypted);
 
-    System.out.println("Sum of coords: " + (thouth + twothouth + threthouth));
+    return thouth + twothouth + threthouth;
   }
 
-  public void part2(List<String> input) {
-    List<Long> encrypted = parseInput(input);
+  public Long part2(List<String> input) {
+    long[] encrypted = parseInput(input);
 
-    long key = 811589153L;
-    encrypted =
-      encrypted.stream().map(val -> val * key).collect(Collectors.toList());
+    for (int i = 0; i < len; i++) {
+      encrypted[i] *= DECRYPTION_KEY;
+    }
 
-    List<Long> decrypted = mix(new ArrayList<>(encrypted), 10);
+    long[] decrypted = mix(encrypted, 10);
 
     long thouth = findCoordinate(1000, decrypted);
     long twothouth = findCoordinate(2000, decrypted);
     long threthouth = findCoordinate(3000, decrypted);
 
-    System.out.println("Sum of coords: " + (thouth + twothouth + threthouth));
+    return thouth + twothouth + threthouth;
   }
 
-  private List<Long> parseInput(List<String> input) {
-    List<Long> encrypted = input
-      .stream()
-      .map(Long::parseLong)
-      .collect(Collectors.toList());
-    len = encrypted.size();
+  private long[] parseInput(List<String> input) {
+    len = input.size();
+    long[] encrypted = new long[len];
+    for (int i = 0; i < len; i++) {
+      encrypted[i] = Long.parseLong(input.get(i));
+    }
     return encrypted;
   }
 
-  private List<Long> mix(List<Long> encrypted, int numMixes) {
-    Map<Integer, Node> nodesByInitialIndex = toCyclicLinkedList(encrypted);
+  // nothing stores a node's position, it's just how many nodes are to its left,
+  // so finding where a number currently is, pulling it out, & putting it back elsewhere are each O(log n)
+  private long[] mix(long[] encrypted, int numMixes) {
+    vals = encrypted;
+    priorities = new int[len];
+    lefts = new int[len];
+    rights = new int[len];
+    parents = new int[len];
+    sizes = new int[len];
+
+    Random random = new Random(len);
+    Arrays.fill(lefts, NONE);
+    Arrays.fill(rights, NONE);
+    Arrays.fill(parents, NONE);
+    Arrays.fill(sizes, 1);
+
+    int root = NONE;
+    for (int n = 0; n < len; n++) {
+      priorities[n] = random.nextInt();
+      root = merge(root, n);
+    }
+
     for (int m = 0; m < numMixes; m++) {
       for (int e = 0; e < len; e++) {
-        Node toMove = nodesByInitialIndex.get(e);
-        move(toMove);
+        root = move(root, e);
       }
     }
-    return toList(front);
-  }
-
-  private void move(Node curr) {
-    long val = curr.val();
 
-    if (val == 0L) {
-      return;
-    }
+    long[] mixed = new long[len];
+    addInOrder(root, mixed, 0);
+    return mixed;
+  }
 
-    boolean forward = val > 0L;
-    if (!forward) {
-      val = Math.abs(val);
+  // it's a circle, so moving past either end just wraps -- & with it pulled out there are len - 1 gaps to land in
+  private int move(int root, int toMove) {
+    if (len <= 1) {
+      return root;
     }
 
-    long numSwaps = val % (len - 1);
-    for (long s = 1L; s <= numSwaps; s++) {
-      boolean isFront = front.equals(curr);
+    int from = indexOf(toMove);
+    split(root, from);
+    int before = splitLeft;
+    split(splitRight, 1);
+    root = merge(before, splitRight);
 
-      // if forward or backward && front, on your first swap, make your currently next thing front
-      if (isFront && s == 1L) {
-        front = curr.next();
-      }
-      // if forward && not front && is last swap && target's /next/ is front node, you're now front
-      if (forward && !isFront && s == val) {
-        if (front.equals(curr.next().next())) {
-          front = curr;
-        }
-      }
-      // if backward && not isFront && is last swap && target is front, you're now front
-      if (!forward && !isFront && s == val) {
-        if (front.equals(curr.next())) {
-          front = curr;
-        }
-      }
+    int to = (int) Math.floorMod(from + vals[toMove], (long) (len - 1));
+    split(root, to);
+    return merge(merge(splitLeft, toMove), splitRight);
+  }
 
-      if (forward) {
-        swapForward(curr);
-      } else {
-        swapBackward(curr);
+  private int indexOf(int node) {
+    int index = size(lefts[node]);
+    for (int n = node; parents[n] != NONE; n = parents[n]) {
+      if (n == rights[parents[n]]) {
+        index += size(lefts[parents[n]]) + 1;
       }
     }
+    return index;
   }
 
-  private void swapForward(Node curr) {
-    Node prev = curr.prev();
-    Node next = curr.next();
-
-    prev.setNext(next);
-    next.setPrev(prev);
-
-    curr.setNext(next.next());
-    next.next().setPrev(curr);
-
-    curr.setPrev(next);
-    next.setNext(curr);
-  }
-
-  private void swapBackward(Node curr) {
-    Node prev = curr.prev();
-    Node next = curr.next();
-
-    prev.setNext(next);
-    next.setPrev(prev);
-
-    curr.setPrev(prev.prev());
-    prev.prev().setNext(curr);
-
-    curr.setNext(prev);
-    prev.setPrev(curr);
-  }
-
-  private Map<Integer, Node> toCyclicLinkedList(List<Long> encrypted) {
-    Map<Integer, Node> nodesByInitialIndex = new HashMap<>();
-
-    List<Node> nodes = encrypted
-      .stream()
-      .map(val -> new Node(val, null, null))
-      .collect(Collectors.toList());
-
-    for (int i = 0; i < nodes.size(); i++) {
-      Node n = nodes.get(i);
-
-      if (i == 0) { // head
-        n.setNext(nodes.get(i + 1));
-        n.setPrev(nodes.get(nodes.size() - 1));
-        front = n;
-      } else if (i == nodes.size() - 1) { // tail
-        n.setNext(nodes.get(0));
-        n.setPrev(nodes.get(i - 1));
-      } else {
-        n.setNext(nodes.get(i + 1));
-        n.setPrev(nodes.get(i - 1));
-      }
-
-      nodesByInitialIndex.put(i, n);
+  // first k nodes -> splitLeft, the rest -> splitRight
+  private void split(int root, int k) {
+    splitInto(root, k);
+    if (splitLeft != NONE) {
+      parents[splitLeft] = NONE;
+    }
+    if (splitRight != NONE) {
+      parents[splitRight] = NONE;
     }
-
-    return nodesByInitialIndex;
   }
 
-  private List<Long> toList(Node front) {
-    List<Long> list = new ArrayList<>();
-    list.add(front.val());
-    Node curr = front.next();
-    while (curr != front) {
-      list.add(curr.val());
-      curr = curr.next();
+  private void splitInto(int root, int k) {
+    if (root == NONE) {
+      splitLeft = NONE;
+      splitRight = NONE;
+      return;
+    }
+    int leftSize = size(lefts[root]);
+    if (leftSize < k) {
+      splitInto(rights[root], k - leftSize - 1);
+      setRight(root, splitLeft);
+      splitLeft = root;
+    } else {
+      splitInto(lefts[root], k);
+      setLeft(root, splitRight);
+      splitRight = root;
     }
-    return list;
+    resize(root);
   }
 
-  private long findCoordinate(int offset, List<Long> decrypted) {
-    return decrypted.get(
-      (decrypted.indexOf(0L) + (offset % decrypted.size())) % decrypted.size()
-    );
+  // everything in left ends up before everything in right
+  private int merge(int left, int right) {
+    if (left == NONE) {
+      return right;
+    }
+    if (right == NONE) {
+      return left;
+    }
+    if (priorities[left] > priorities[right]) {
+      setRight(left, merge(rights[left], right));
+      resize(left);
+      return left;
+    }
+    setLeft(right, merge(left, lefts[right]));
+    resize(right);
+    return right;
   }
 
-  private class Node {
-
-    private long val;
-    private Node prev;
-    private Node next;
-
-    Node(long val, Node prev, Node next) {
-      this.val = val;
-      this.prev = prev;
-      this.next = next;
+  private void setLeft(int node, int left) {
+    lefts[node] = left;
+    if (left != NONE) {
+      parents[left] = node;
     }
+  }
 
-    public long val() {
-      return val;
+  private void setRight(int node, int right) {
+    rights[node] = right;
+    if (right != NONE) {
+      parents[right] = node;
     }
+  }
 
-    public Node prev() {
-      return prev;
-    }
+  private int size(int node) {
+    return node == NONE ? 0 : sizes[node];
+  }
 
-    public void setPrev(Node prev) {
-      this.prev = prev;
-    }
+  private void resize(int node) {
+    sizes[node] = size(lefts[node]) + size(rights[node]) + 1;
+  }
 
-    public Node next() {
-      return next;
+  // returns the next index to fill
+  private int addInOrder(int node, long[] mixed, int index) {
+    if (node == NONE) {
+      return index;
     }
+    index = addInOrder(lefts[node], mixed, index);
+    mixed[index++] = vals[node];
+    return addInOrder(rights[node], mixed, index);
+  }
 
-    public void setNext(Node next) {
-      this.next = next;
+  private long findCoordinate(int offset, long[] decrypted) {
+    int indexOfZero = 0;
+    while (decrypted[indexOfZero] != 0L) {
+      indexOfZero++;
     }
+    int index = (indexOfZero + (offset % decrypted.length)) % decrypted.length;
+    return decrypted[index];
   }
 }
@@ -7,7 +7,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class Day21 implements Day {
+public class Day21 implements Day<Long, Long> {
 
   private static final String ROOT = "root";
   private static final String US = "humn";
@@ -18,16 +18,16 @@ public class Day21 implements Day {
   private String rootArg1;
   private String rootArg2;
 
-  public void part1(List<String> input) {
+  public Long part1(List<String> input) {
     parseInput(input, false);
     long result = calc(ROOT);
-    System.out.println("root's #: " + result);
+    return result;
   }
 
-  public void part2(List<String> input) {
+  public Long part2(List<String> input) {
     parseInput(input, true);
     long result = findHumanBackwards();
-    System.out.println("To pass root's == test, we should yell: " + result);
+    return result;
   }
 
   private static final Splitter COLON = Splitter.on(": ");
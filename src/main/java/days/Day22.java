@@ -4,7 +4,7 @@ import com.google.common.primitives.Ints;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Day22 implements Day {
+public class Day22 implements Day<Integer, Integer> {
 
   private static final char EMPTY = ' ';
   private static final char WALL = '#';
@@ -16,22 +16,22 @@ public class Day22 implements Day {
   private Coord current;
   private Facing facing;
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     map = parseInput(input);
     followInstructions(false);
 
     int sum =
       (1000 * (current.y() + 1)) + (4 * (current.x() + 1)) + facing.getVal();
-    System.out.println("Password sum: " + sum);
+    return sum;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     map = parseInput(input);
     followInstructions(true);
 
     int sum =
       (1000 * (current.y() + 1)) + (4 * (current.x() + 1)) + facing.getVal();
-    System.out.println("Password sum with cube: " + sum);
+    return sum;
   }
 
   private char[][] parseInput(List<String> input) {
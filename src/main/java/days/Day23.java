@@ -1,328 +1,272 @@
 package days;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.SetMultimap;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
-public class Day23 implements Day {
+public class Day23 implements Day<Integer, Integer> {
 
   private static final char ELF = '#';
 
-  private Map<Integer, Elf> elvesById = new HashMap<>();
-  private SetMultimap<Coord, Elf> elvesByProposedCoord = HashMultimap.create();
-  private List<Direction> directions = Arrays.asList(
-    Direction.N,
-    Direction.S,
-    Direction.W,
-    Direction.E
-  );
-
-  private static final int AXIS_SIZE = 1000;
-  private static final int OFFSET = AXIS_SIZE / 2; // give em some room to move
-  private char[][] map; // [y][x]
+  // elves are kept at least this far in from every edge of the bitboards, so neighbours (& neighbours' proposals,
+  // two away) never fall off -- the boards grow whenever someone gets closer
+  private static final int MARGIN = 3;
 
   private static final int NUM_ROUNDS = 10;
 
-  public void part1(List<String> input) {
+  // proposals get tried in this order, starting from a different one each round
+  private static final Direction[] DIRECTIONS = {
+    Direction.N,
+    Direction.S,
+    Direction.W,
+    Direction.E,
+  };
+
+  // elves as bitboards -- [y][word], with column x at bit x % 64 of word x / 64
+  // only ever as big as the area the elves have spread over, plus some room to keep moving
+  private long[][] elves;
+  private long[][] next;
+  private long[][][] proposalsByDirection; // [Direction.ordinal()][y][word]
+  private int numRows;
+  private int numWords;
+
+  // bounding box of the elves, kept up to date as they move
+  private int minRow;
+  private int maxRow;
+  private int minCol;
+  private int maxCol;
+  private int numElves;
+
+  public Integer part1(List<String> input) {
     parseInput(input);
 
     simulate(false);
 
     int numEmpties = calcNumEmptySpacesInEnclosingRectangle();
-    System.out.println("Empty spaces: " + numEmpties);
+    return numEmpties;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     parseInput(input);
 
-    simulate(true);
+    int firstRoundNoOneMoves = simulate(true);
+    return firstRoundNoOneMoves;
   }
 
   private void parseInput(List<String> input) {
-    char[][] grid = new char[AXIS_SIZE][AXIS_SIZE];
-
-    int elfId = 0;
+    int width = input.get(0).length();
+    allocate(input.size() + 2 * MARGIN, wordsFor(width + 2 * MARGIN));
+
+    numElves = 0;
+    minRow = Integer.MAX_VALUE;
+    maxRow = Integer.MIN_VALUE;
+    minCol = Integer.MAX_VALUE;
+    maxCol = Integer.MIN_VALUE;
     for (int y = 0; y < input.size(); y++) {
       String line = input.get(y);
+      int row = y + MARGIN;
       for (int x = 0; x < line.length(); x++) {
         if (line.charAt(x) == ELF) {
-          grid[y + OFFSET][x + OFFSET] = ELF;
-          elvesById.put(
-            elfId,
-            new Elf(elfId, new Coord(x + OFFSET, y + OFFSET))
-          );
-          elfId++;
+          int col = x + MARGIN;
+          elves[row][col >>> 6] |= 1L << col;
+          numElves++;
+          minRow = Math.min(minRow, row);
+          maxRow = Math.max(maxRow, row);
+          minCol = Math.min(minCol, col);
+          maxCol = Math.max(maxCol, col);
         }
       }
     }
-    map = grid;
   }
 
-  private void simulate(boolean partTwo) {
-    int numRounds = partTwo ? Integer.MAX_VALUE : NUM_ROUNDS;
-
-    for (int r = 1; r <= numRounds; r++) {
-      elvesByProposedCoord = HashMultimap.create();
-      Set<Elf> elves = new HashSet<>(elvesById.values());
-
-      for (Elf elf : elves) {
-        if (noOneElseAround(elf)) {
-          continue;
-        }
-        Coord currentPos = elf.getCurrent();
-        for (Direction d : directions) {
-          if (isDirectionEmpty(d, currentPos)) {
-            elvesByProposedCoord.put(newCoordInDirection(d, currentPos), elf);
-            break;
-          }
-        }
-      }
-
-      if (elvesByProposedCoord.isEmpty()) {
-        System.out.println("First round where no elves move: " + r);
-        return;
-      }
-
-      moveIfPossible();
-      Collections.rotate(directions, -1);
-    }
+  private void allocate(int rows, int words) {
+    numRows = rows;
+    numWords = words;
+    elves = new long[rows][words];
+    next = new long[rows][words];
+    proposalsByDirection = new long[DIRECTIONS.length][rows][words];
   }
 
-  private void moveIfPossible() {
-    Set<Coord> toClear = new HashSet<>();
-    Set<Coord> toMark = new HashSet<>();
-
-    for (Coord proposed : elvesByProposedCoord.keySet()) {
-      Set<Elf> elvesProposingHere = elvesByProposedCoord.get(proposed);
-      if (elvesProposingHere.size() == 1) {
-        Elf moving = Iterables.getOnlyElement(elvesProposingHere);
-        elvesById.put(moving.getId(), moving.withCurrent(proposed));
-
-        toClear.add(moving.getCurrent());
-        toMark.add(proposed);
-      }
-    }
-
-    for (Coord clear : toClear) {
-      map[clear.y()][clear.x()] = '.';
-    }
-
-    for (Coord mark : toMark) {
-      map[mark.y()][mark.x()] = ELF;
-    }
+  private static int wordsFor(int cols) {
+    return (cols + Long.SIZE - 1) / Long.SIZE;
   }
 
-  private boolean noOneElseAround(Elf elf) {
-    Coord current = elf.getCurrent();
-
-    Coord NW = getNW(current);
-    if (map[NW.y()][NW.x()] == ELF) {
-      return false;
-    }
-
-    Coord N = getN(current);
-    if (map[N.y()][N.x()] == ELF) {
-      return false;
-    }
-
-    Coord NE = getNE(current);
-    if (map[NE.y()][NE.x()] == ELF) {
-      return false;
-    }
-
-    Coord W = getW(current);
-    if (map[W.y()][W.x()] == ELF) {
-      return false;
-    }
-
-    Coord E = getE(current);
-    if (map[E.y()][E.x()] == ELF) {
-      return false;
-    }
-
-    Coord SW = getSW(current);
-    if (map[SW.y()][SW.x()] == ELF) {
-      return false;
-    }
-
-    Coord S = getS(current);
-    if (map[S.y()][S.x()] == ELF) {
-      return false;
-    }
-
-    Coord SE = getSE(current);
-    if (map[SE.y()][SE.x()] == ELF) {
-      return false;
-    }
-
-    return true;
-  }
-
-  private boolean isDirectionEmpty(Direction d, Coord current) {
-    return switch (d) {
-      case N -> isTopEmpty(current);
-      case S -> isBotEmpty(current);
-      case W -> isLeftEmpty(current);
-      case E -> isRightEmpty(current);
-    };
-  }
-
-  private boolean isTopEmpty(Coord current) {
-    Coord NW = getNW(current);
-    if (map[NW.y()][NW.x()] == ELF) {
-      return false;
-    }
-
-    Coord N = getN(current);
-    if (map[N.y()][N.x()] == ELF) {
-      return false;
-    }
-
-    Coord NE = getNE(current);
-    if (map[NE.y()][NE.x()] == ELF) {
-      return false;
-    }
-
-    return true;
+  // roughly doubles each way whenever it's needed, so the copying stays cheap overall
+  private void growIfNeeded() {
+    if (
+      minRow >= MARGIN &&
+      maxRow < numRows - MARGIN &&
+      minCol >= MARGIN &&
+      maxCol < numWords * Long.SIZE - MARGIN
+    ) {
+      return;
+    }
+
+    int extraRows = numRows / 2 + MARGIN;
+    int extraWords = numWords / 2 + 1;
+    long[][] current = elves;
+    int currentWords = numWords;
+    allocate(numRows + 2 * extraRows, numWords + 2 * extraWords);
+    for (int y = minRow; y <= maxRow; y++) {
+      System.arraycopy(
+        current[y],
+        0,
+        elves[y + extraRows],
+        extraWords,
+        currentWords
+      );
+    }
+
+    minRow += extraRows;
+    maxRow += extraRows;
+    minCol += extraWords * Long.SIZE;
+    maxCol += extraWords * Long.SIZE;
   }
 
-  private boolean isBotEmpty(Coord current) {
-    Coord SW = getSW(current);
-    if (map[SW.y()][SW.x()] == ELF) {
-      return false;
-    }
-
-    Coord S = getS(current);
-    if (map[S.y()][S.x()] == ELF) {
-      return false;
-    }
+  // returns the first round where no elves move, or the final round if they never settled
+  private int simulate(boolean partTwo) {
+    int numRounds = partTwo ? Integer.MAX_VALUE : NUM_ROUNDS;
 
-    Coord SE = getSE(current);
-    if (map[SE.y()][SE.x()] == ELF) {
-      return false;
+    for (int r = 1; r <= numRounds; r++) {
+      growIfNeeded();
+      if (!propose(r - 1)) {
+        return r;
+      }
+      moveIfPossible();
     }
-
-    return true;
+    return numRounds;
   }
 
-  private boolean isLeftEmpty(Coord current) {
-    Coord NW = getNW(current);
-    if (map[NW.y()][NW.x()] == ELF) {
-      return false;
-    }
-
-    Coord W = getW(current);
-    if (map[W.y()][W.x()] == ELF) {
-      return false;
-    }
+  // every elf at once, a word of 64 at a time: which neighbours are taken is just the rows above, at, & below
+  // shifted a column either way -- returns whether anyone proposed anything
+  private boolean propose(int firstDirection) {
+    long[][] proposedN = proposalsByDirection[Direction.N.ordinal()];
+    long[][] proposedS = proposalsByDirection[Direction.S.ordinal()];
+    long[][] proposedW = proposalsByDirection[Direction.W.ordinal()];
+    long[][] proposedE = proposalsByDirection[Direction.E.ordinal()];
+
+    boolean anyProposed = false;
+    for (int y = minRow - 1; y <= maxRow + 1; y++) {
+      long[] above = elves[y - 1];
+      long[] row = elves[y];
+      long[] below = elves[y + 1];
+      for (int w = 0; w < numWords; w++) {
+        proposedN[y][w] = 0L;
+        proposedS[y][w] = 0L;
+        proposedW[y][w] = 0L;
+        proposedE[y][w] = 0L;
+        if (row[w] == 0L) {
+          continue;
+        }
 
-    Coord SW = getSW(current);
-    if (map[SW.y()][SW.x()] == ELF) {
-      return false;
+        long aboveW = fromWest(above, w);
+        long aboveE = fromEast(above, w);
+        long belowW = fromWest(below, w);
+        long belowE = fromEast(below, w);
+        long takenN = above[w] | aboveW | aboveE;
+        long takenS = below[w] | belowW | belowE;
+        long takenW = aboveW | fromWest(row, w) | belowW;
+        long takenE = aboveE | fromEast(row, w) | belowE;
+
+        // no one else around -> stay put
+        long crowded = row[w] & (takenN | takenS | takenW | takenE);
+        long undecided = crowded;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+          Direction dir =
+            DIRECTIONS[(firstDirection + d) % DIRECTIONS.length];
+          long taken =
+            switch (dir) {
+              case N -> takenN;
+              case S -> takenS;
+              case W -> takenW;
+              case E -> takenE;
+            };
+          long proposing = undecided & ~taken;
+          proposalsByDirection[dir.ordinal()][y][w] = proposing;
+          undecided &= ~proposing;
+        }
+        anyProposed |= undecided != crowded;
+      }
     }
-
-    return true;
+    return anyProposed;
   }
 
-  private boolean isRightEmpty(Coord current) {
-    Coord NE = getNE(current);
-    if (map[NE.y()][NE.x()] == ELF) {
-      return false;
-    }
-
-    Coord E = getE(current);
-    if (map[E.y()][E.x()] == ELF) {
-      return false;
-    }
-
-    Coord SE = getSE(current);
-    if (map[SE.y()][SE.x()] == ELF) {
-      return false;
+  // two elves can only ever propose the same spot from opposite sides (any other way, one would be in the
+  // other's way), so a clash is just N vs S or W vs E proposals landing on the same bit
+  private void moveIfPossible() {
+    long[][] proposedN = proposalsByDirection[Direction.N.ordinal()];
+    long[][] proposedS = proposalsByDirection[Direction.S.ordinal()];
+    long[][] proposedW = proposalsByDirection[Direction.W.ordinal()];
+    long[][] proposedE = proposalsByDirection[Direction.E.ordinal()];
+
+    int newMinRow = Integer.MAX_VALUE;
+    int newMaxRow = Integer.MIN_VALUE;
+    int newMinCol = Integer.MAX_VALUE;
+    int newMaxCol = Integer.MIN_VALUE;
+    for (int y = minRow - 1; y <= maxRow + 1; y++) {
+      boolean anyElves = false;
+      for (int w = 0; w < numWords; w++) {
+        long fromBelow = proposedN[y + 1][w];
+        long fromAbove = proposedS[y - 1][w];
+        long fromWestSide = fromWest(proposedE[y], w);
+        long fromEastSide = fromEast(proposedW[y], w);
+        long arriving =
+          ((fromBelow | fromAbove) & ~(fromBelow & fromAbove)) |
+          ((fromWestSide | fromEastSide) & ~(fromWestSide & fromEastSide));
+
+        long leaving =
+          (proposedN[y][w] & ~proposedS[y - 2][w]) |
+          (proposedS[y][w] & ~proposedN[y + 2][w]) |
+          (proposedW[y][w] & ~fromTwoWest(proposedE[y], w)) |
+          (proposedE[y][w] & ~fromTwoEast(proposedW[y], w));
+
+        long bits = (elves[y][w] & ~leaving) | arriving;
+        next[y][w] = bits;
+        if (bits != 0L) {
+          anyElves = true;
+          int wordStart = w * Long.SIZE;
+          newMinCol =
+            Math.min(newMinCol, wordStart + Long.numberOfTrailingZeros(bits));
+          newMaxCol =
+            Math.max(
+              newMaxCol,
+              wordStart + Long.SIZE - 1 - Long.numberOfLeadingZeros(bits)
+            );
+        }
+      }
+      if (anyElves) {
+        newMinRow = Math.min(newMinRow, y);
+        newMaxRow = Math.max(newMaxRow, y);
+      }
     }
 
-    return true;
-  }
-
-  private Coord newCoordInDirection(Direction d, Coord current) {
-    return switch (d) {
-      case N -> getN(current);
-      case S -> getS(current);
-      case W -> getW(current);
-      case E -> getE(current);
-    };
-  }
-
-  private Coord getNW(Coord current) {
-    return new Coord(current.x() - 1, current.y() - 1);
-  }
-
-  private Coord getN(Coord current) {
-    return new Coord(current.x(), current.y() - 1);
-  }
-
-  private Coord getNE(Coord current) {
-    return new Coord(current.x() + 1, current.y() - 1);
+    // rows outside of what was just written can't have had elves last time either, so next is all current
+    long[][] swap = elves;
+    elves = next;
+    next = swap;
+    minRow = newMinRow;
+    maxRow = newMaxRow;
+    minCol = newMinCol;
+    maxCol = newMaxCol;
   }
 
-  private Coord getW(Coord current) {
-    return new Coord(current.x() - 1, current.y());
+  // bit x of the result is bit x - 1 of the row, i.e. "is there one just west of x"
+  private static long fromWest(long[] row, int w) {
+    return (row[w] << 1) | (w > 0 ? row[w - 1] >>> 63 : 0L);
   }
 
-  private Coord getE(Coord current) {
-    return new Coord(current.x() + 1, current.y());
+  private static long fromEast(long[] row, int w) {
+    return (row[w] >>> 1) | (w + 1 < row.length ? row[w + 1] << 63 : 0L);
   }
 
-  private Coord getSW(Coord current) {
-    return new Coord(current.x() - 1, current.y() + 1);
+  private static long fromTwoWest(long[] row, int w) {
+    return (row[w] << 2) | (w > 0 ? row[w - 1] >>> 62 : 0L);
   }
 
-  private Coord getS(Coord current) {
-    return new Coord(current.x(), current.y() + 1);
-  }
-
-  private Coord getSE(Coord current) {
-    return new Coord(current.x() + 1, current.y() + 1);
+  private static long fromTwoEast(long[] row, int w) {
+    return (row[w] >>> 2) | (w + 1 < row.length ? row[w + 1] << 62 : 0L);
   }
 
   private int calcNumEmptySpacesInEnclosingRectangle() {
-    int leftX = Integer.MAX_VALUE;
-    int rightX = Integer.MIN_VALUE;
-    int topY = Integer.MAX_VALUE;
-    int botY = Integer.MIN_VALUE;
-
-    for (Elf elf : elvesById.values()) {
-      Coord pos = elf.getCurrent();
-      if (pos.x() < leftX) {
-        leftX = pos.x();
-      }
-      if (pos.x() > rightX) {
-        rightX = pos.x();
-      }
-      if (pos.y() < topY) {
-        topY = pos.y();
-      }
-      if (pos.y() > botY) {
-        botY = pos.y();
-      }
-    }
-
-    int numEmpty = 0;
-    for (int y = topY; y <= botY; y++) {
-      for (int x = leftX; x <= rightX; x++) {
-        if (map[y][x] != ELF) {
-          numEmpty++;
-        }
-      }
-    }
-    return numEmpty;
+    return (maxRow - minRow + 1) * (maxCol - minCol + 1) - numElves;
   }
 
   private enum Direction {
@@ -331,46 +275,4 @@ public class Day23 implements Day {
     W,
     E,
   }
-
-  private record Coord(int x, int y) {}
-
-  private class Elf {
-
-    private final int id;
-    private final Coord current;
-
-    private Elf(int id, Coord current) {
-      this.id = id;
-      this.current = current;
-    }
-
-    public int getId() {
-      return id;
-    }
-
-    public Coord getCurrent() {
-      return current;
-    }
-
-    public Elf withCurrent(Coord newCurrent) {
-      return new Elf(this.id, newCurrent);
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
-      }
-      Elf elf = (Elf) o;
-      return id == elf.id && Objects.equals(current, elf.current);
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(id, current);
-    }
-  }
 }
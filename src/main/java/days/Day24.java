@@ -1,38 +1,29 @@
 package days;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import com.google.common.math.IntMath;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
-import java.util.Set;
 
-public class Day24 implements Day {
-
-  private static final char WALL = '#';
+public class Day24 implements Day<Integer, Integer> {
 
   private Coord start;
   private Coord exit;
 
-  private Set<Coord> walls = new HashSet<>();
-  private Set<Blizzard> blizzards = new HashSet<>();
-  private SetMultimap<Integer, Coord> blizzardsByTime = HashMultimap.create();
+  // inner valley, i.e. not counting the walls -- everything from here down is in 0-based inner coords
+  private int width;
+  private int height;
+  private BlizzardTimeline blizzards;
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     parseInput(input);
 
-    initializeBlizzardsByTime();
-
-    long minMinutesToExit = calcMinMinutesToGoal(0, start);
-    System.out.println("Min minutes to exit: " + minMinutesToExit);
+    int minMinutesToExit = calcMinMinutesToGoal(0, start);
+    return minMinutesToExit;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     parseInput(input);
 
-    initializeBlizzardsByTime();
-
     int minMinutesToExit = calcMinMinutesToGoal(0, start);
     int minMinutesToExitAndGetBackToStart = calcMinMinutesToGoal(
       minMinutesToExit,
@@ -42,185 +33,189 @@ public class Day24 implements Day {
       minMinutesToExitAndGetBackToStart,
       start
     );
-    System.out.println(
-      "Min minutes to exit, then grab snacks at start, then exit again: " +
-      minMinutesToExitAndGoBackAndExitAgain
-    );
+    return minMinutesToExitAndGoBackAndExitAgain;
   }
 
   private void parseInput(List<String> input) {
-    for (int y = 0; y < input.size(); y++) {
-      String line = input.get(y);
-      for (int x = 0; x < line.length(); x++) {
-        char c = line.charAt(x);
-        Coord current = new Coord(x, y);
-
-        if (y == 0 && c == '.') {
-          start = current;
-        }
-        if (y == input.size() - 1 && c == '.') {
-          exit = current;
-        }
+    start = new Coord(input.get(0).indexOf('.'), 0);
+    String lastLine = input.get(input.size() - 1);
+    exit = new Coord(lastLine.indexOf('.'), input.size() - 1);
 
-        if (c == WALL) {
-          walls.add(current);
-        }
-
-        if (c == Direction.UP.getChar()) {
-          blizzards.add(new Blizzard(Direction.UP, current));
-        }
-        if (c == Direction.DOWN.getChar()) {
-          blizzards.add(new Blizzard(Direction.DOWN, current));
-        }
-        if (c == Direction.LEFT.getChar()) {
-          blizzards.add(new Blizzard(Direction.LEFT, current));
-        }
-        if (c == Direction.RIGHT.getChar()) {
-          blizzards.add(new Blizzard(Direction.RIGHT, current));
-        }
-      }
-    }
-  }
-
-  private void initializeBlizzardsByTime() {
-    for (int t = 0; t < 5_000; t++) { // arbitrarily large, enough to not run out
-      blizzardsByTime.putAll(t, calcBlizardCoordsWhenMoveAtTime(t));
-    }
+    width = exit.x();
+    height = exit.y() - 1;
+    blizzards = new BlizzardTimeline(input, width, height);
   }
 
+  // every minute is a BFS layer, so rather than queueing states, keep everywhere we could be as a bitset per row
+  // & grow the whole thing a minute at a time: next minute we could be anywhere we are now or next to, minus blizzards
   private int calcMinMinutesToGoal(int startingMinute, Coord startingCoord) {
-    int minMinutesToExit = Integer.MAX_VALUE;
-
-    Coord goal = startingCoord.equals(start) ? exit : start;
-
-    MazeState initial = new MazeState(startingMinute, startingCoord);
-
-    Queue<MazeState> q = new LinkedList<>();
-    q.add(initial);
-
-    Set<MazeState> seen = new HashSet<>();
-
-    while (!q.isEmpty()) {
-      MazeState state = q.poll();
-      int currMinute = state.minute();
-      Coord currPos = state.pos();
-
-      if (currPos.equals(goal)) {
-        // theoretically first of these we see is the smallest cause order of queue, but do min anyways?
-        if (currMinute < minMinutesToExit) {
-          minMinutesToExit = currMinute;
-        }
-        continue;
-      }
-
-      if (currMinute >= minMinutesToExit) {
-        continue;
-      }
+    boolean goingDown = startingCoord.equals(start);
+
+    // the valley cell stepped into from where we're waiting, & the one stepped out of onto the goal
+    int entryX = goingDown ? 0 : width - 1;
+    int entryY = goingDown ? 0 : height - 1;
+    int lastX = goingDown ? width - 1 : 0;
+    int lastY = goingDown ? height - 1 : 0;
+
+    int words = wordsFor(width);
+    long lastWordMask = -1L >>> (words * Long.SIZE - width);
+    long[][] reachable = new long[height][words];
+    long[][] next = new long[height][words];
+    long[] blizzardRow = new long[words];
+
+    // blizzards repeat every lcm(width, height) minutes, & anywhere reachable is reachable again a lap later (just
+    // step in a lap later), so the frontier only ever grows lap to lap -- once a lap doesn't add anything, it never will
+    int lap = IntMath.checkedMultiply(
+      width / IntMath.gcd(width, height),
+      height
+    );
+    long[][] lapAgo = new long[height][words];
 
-      if (seen.contains(state)) {
-        continue;
+    for (int minute = startingMinute; ; minute++) {
+      if (get(reachable[lastY], lastX)) {
+        return minute + 1;
       }
-      seen.add(state);
-
-      Set<Coord> newBlizzards = blizzardsByTime.get(currMinute);
-
-      if (!inBlizzard(currPos, newBlizzards)) { // wait
-        q.add(new MazeState(currMinute + 1, currPos));
+      if ((minute - startingMinute) % lap == 0) {
+        if (minute > startingMinute && Arrays.deepEquals(reachable, lapAgo)) {
+          throw new IllegalArgumentException(
+            "Goal is unreachable from " +
+            startingCoord +
+            " setting off at minute " +
+            startingMinute
+          );
+        }
+        for (int y = 0; y < height; y++) {
+          System.arraycopy(reachable[y], 0, lapAgo[y], 0, words);
+        }
       }
 
-      Coord up = getNextInDirection(currPos, Direction.UP);
-      if (canIMoveHere(up, newBlizzards)) {
-        q.add(new MazeState(currMinute + 1, up));
-      }
+      for (int y = 0; y < height; y++) {
+        long[] row = next[y];
+        System.arraycopy(reachable[y], 0, row, 0, words); // wait
+        orShiftedUp(reachable[y], 1, row); // right
+        orShiftedDown(reachable[y], 1, row); // left
+        if (y > 0) {
+          or(reachable[y - 1], row); // down
+        }
+        if (y < height - 1) {
+          or(reachable[y + 1], row); // up
+        }
 
-      Coord down = getNextInDirection(currPos, Direction.DOWN);
-      if (canIMoveHere(down, newBlizzards)) {
-        q.add(new MazeState(currMinute + 1, down));
+        blizzards.occupiedRow(y, minute + 1, blizzardRow);
+        for (int w = 0; w < words; w++) {
+          row[w] &= ~blizzardRow[w];
+        }
+        row[words - 1] &= lastWordMask;
       }
 
-      Coord left = getNextInDirection(currPos, Direction.LEFT);
-      if (canIMoveHere(left, newBlizzards)) {
-        q.add(new MazeState(currMinute + 1, left));
+      // could've been waiting where we started all along, so can always step in if it's clear
+      blizzards.occupiedRow(entryY, minute + 1, blizzardRow);
+      if (!get(blizzardRow, entryX)) {
+        set(next[entryY], entryX);
       }
 
-      Coord right = getNextInDirection(currPos, Direction.RIGHT);
-      if (canIMoveHere(right, newBlizzards)) {
-        q.add(new MazeState(currMinute + 1, right));
-      }
+      long[][] swap = reachable;
+      reachable = next;
+      next = swap;
     }
-
-    return minMinutesToExit;
   }
 
-  private Set<Coord> calcBlizardCoordsWhenMoveAtTime(int currentMinute) {
-    int numMoves = currentMinute + 1;
+  private static int wordsFor(int bits) {
+    return (bits + Long.SIZE - 1) / Long.SIZE;
+  }
 
-    int height = exit.y() - 1;
-    int width = exit.x();
+  private static void set(long[] bits, int i) {
+    bits[i >>> 6] |= 1L << i;
+  }
 
-    Set<Coord> blizzardCoords = new HashSet<>();
+  private static boolean get(long[] bits, int i) {
+    return (bits[i >>> 6] & (1L << i)) != 0;
+  }
 
-    for (Blizzard b : blizzards) {
-      Coord currCoord = b.coord();
-      Coord newCoord =
-        switch (b.dir()) {
-          case UP -> {
-            int val = currCoord.y() - numMoves;
-            int y = val > 0 ? val : height - (Math.abs(val) % height);
-            yield new Coord(currCoord.x(), y);
-          }
-          case DOWN -> {
-            int val = (currCoord.y() + numMoves) % height;
-            int y = val == 0 ? height : val;
-            yield new Coord(currCoord.x(), y);
-          }
-          case LEFT -> {
-            int val = currCoord.x() - numMoves;
-            int x = val > 0 ? val : width - (Math.abs(val) % width);
-            yield new Coord(x, currCoord.y());
-          }
-          case RIGHT -> {
-            int val = (currCoord.x() + numMoves) % width;
-            int x = val == 0 ? width : val;
-            yield new Coord(x, currCoord.y());
-          }
-        };
-      blizzardCoords.add(newCoord);
+  private static void or(long[] bits, long[] into) {
+    for (int w = 0; w < into.length; w++) {
+      into[w] |= bits[w];
     }
-
-    return blizzardCoords;
   }
 
-  private Coord getNextInDirection(Coord current, Direction dir) {
-    return switch (dir) {
-      case UP -> new Coord(current.x(), current.y() - 1);
-      case DOWN -> new Coord(current.x(), current.y() + 1);
-      case LEFT -> new Coord(current.x() - 1, current.y());
-      case RIGHT -> new Coord(current.x() + 1, current.y());
-    };
+  // into |= bits << n, i.e. bit i -> bit i + n (anything past the end of into is dropped)
+  private static void orShiftedUp(long[] bits, int n, long[] into) {
+    int wordShift = n >>> 6;
+    int bitShift = n & 63;
+    for (int w = into.length - 1; w >= wordShift; w--) {
+      long shifted = bits[w - wordShift] << bitShift;
+      if (bitShift != 0 && w - wordShift > 0) {
+        shifted |= bits[w - wordShift - 1] >>> (Long.SIZE - bitShift);
+      }
+      into[w] |= shifted;
+    }
   }
 
-  private boolean canIMoveHere(Coord proposed, Set<Coord> blizzardCoords) {
-    // can't go off map
-    if (proposed.y() < start.y() || proposed.y() > exit.y()) {
-      return false;
+  // into |= bits >>> n, i.e. bit i -> bit i - n
+  private static void orShiftedDown(long[] bits, int n, long[] into) {
+    int wordShift = n >>> 6;
+    int bitShift = n & 63;
+    for (int w = 0; w + wordShift < into.length; w++) {
+      long shifted = bits[w + wordShift] >>> bitShift;
+      if (bitShift != 0 && w + wordShift + 1 < into.length) {
+        shifted |= bits[w + wordShift + 1] << (Long.SIZE - bitShift);
+      }
+      into[w] |= shifted;
     }
+  }
 
-    // can't go into wall
-    if (walls.contains(proposed)) {
-      return false;
+  // blizzards just loop around their own row or column, so keep where they started as a bitset per row per direction
+  // & look back along it -- a right-mover at x at minute t started at x - t, wrapped, so the whole row is a rotation
+  // up & down movers shift a whole row at a time, so the up-movers in row y at minute t are the ones that started in row y + t
+  private static class BlizzardTimeline {
+
+    private final int width;
+    private final int height;
+    private final long lastWordMask;
+    private final long[][] rightsByRow;
+    private final long[][] leftsByRow;
+    private final long[][] upsByRow;
+    private final long[][] downsByRow;
+
+    BlizzardTimeline(List<String> input, int width, int height) {
+      this.width = width;
+      this.height = height;
+      int words = wordsFor(width);
+      lastWordMask = -1L >>> (words * Long.SIZE - width);
+      rightsByRow = new long[height][words];
+      leftsByRow = new long[height][words];
+      upsByRow = new long[height][words];
+      downsByRow = new long[height][words];
+
+      for (int y = 0; y < height; y++) {
+        String line = input.get(y + 1);
+        for (int x = 0; x < width; x++) {
+          char c = line.charAt(x + 1);
+          if (c == Direction.RIGHT.getChar()) {
+            set(rightsByRow[y], x);
+          } else if (c == Direction.LEFT.getChar()) {
+            set(leftsByRow[y], x);
+          } else if (c == Direction.UP.getChar()) {
+            set(upsByRow[y], x);
+          } else if (c == Direction.DOWN.getChar()) {
+            set(downsByRow[y], x);
+          }
+        }
+      }
     }
 
-    // can't enter blizzard
-    if (inBlizzard(proposed, blizzardCoords)) {
-      return false;
+    // every blizzard in row y at that minute, into out
+    public void occupiedRow(int y, int minute, long[] out) {
+      Arrays.fill(out, 0L);
+      int moved = Math.floorMod(minute, width);
+      orShiftedUp(rightsByRow[y], moved, out);
+      orShiftedDown(rightsByRow[y], width - moved, out);
+      orShiftedDown(leftsByRow[y], moved, out);
+      orShiftedUp(leftsByRow[y], width - moved, out);
+      or(upsByRow[Math.floorMod(y + minute, height)], out);
+      or(downsByRow[Math.floorMod(y - minute, height)], out);
+      out[out.length - 1] &= lastWordMask;
     }
-
-    return true;
-  }
-
-  private boolean inBlizzard(Coord c, Set<Coord> blizzardCoords) {
-    return blizzardCoords.contains(c);
   }
 
   private enum Direction {
@@ -241,8 +236,4 @@ public class Day24 implements Day {
   }
 
   private record Coord(int x, int y) {}
-
-  private record Blizzard(Direction dir, Coord coord) {}
-
-  private record MazeState(int minute, Coord pos) {}
 }
@@ -1,32 +1,32 @@
 package days;
 
-import java.util.ArrayList;
-import java.util.List;
+public class Day25 implements StreamingDay<String, String> {
 
-public class Day25 implements Day {
+  public LineSolver<String> part1Solver() {
+    return new LineSolver<>() {
+      private long sumDecimal = 0L;
 
-  public void part1(List<String> input) {
-    List<Long> decimalNums = toDecimals(input);
+      public void accept(CharSequence snafuNum) {
+        sumDecimal += toDecimals(snafuNum);
+      }
 
-    long sumDecimal = decimalNums.stream().mapToLong(Long::longValue).sum();
-    System.out.println("Decimal sum: " + sumDecimal);
-
-    System.out.println("to snafu: " + toSnafu(sumDecimal));
+      public String finish() {
+        return toSnafu(sumDecimal);
+      }
+    };
   }
 
-  public void part2(List<String> input) {
-    System.out.println("Reindeer smoothie time :)");
-  }
+  public LineSolver<String> part2Solver() {
+    return new LineSolver<>() {
+      public void accept(CharSequence line) {}
 
-  private List<Long> toDecimals(List<String> snafuNums) {
-    List<Long> decimalNums = new ArrayList<>();
-    for (String snafuNum : snafuNums) {
-      decimalNums.add(toDecimals(snafuNum));
-    }
-    return decimalNums;
+      public String finish() {
+        return "Reindeer smoothie time :)";
+      }
+    };
   }
 
-  private long toDecimals(String snafuNum) {
+  private long toDecimals(CharSequence snafuNum) {
     long num = 0;
     for (int d = snafuNum.length() - 1; d >= 0; d--) {
       int numDigit = (snafuNum.length() - 1) - d; // starting at 0, is exponent
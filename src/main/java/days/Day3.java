@@ -5,34 +5,47 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Day3 implements Day {
+public class Day3 implements StreamingDay<Integer, Integer> {
 
-  public void part1(List<String> input) {
-    List<Integer> priorities = new ArrayList<>();
+  public LineSolver<Integer> part1Solver() {
+    return new LineSolver<>() {
+      private int sum = 0;
 
-    for (String rucksack : input) {
-      char errorItem = findErrorItem(rucksack);
-      priorities.add(toPriority(errorItem));
-    }
+      public void accept(CharSequence rucksack) {
+        char errorItem = findErrorItem(rucksack.toString());
+        sum += toPriority(errorItem);
+      }
 
-    System.out.println("Priorities: " + priorities);
-    int sum = priorities.stream().mapToInt(Integer::intValue).sum();
-    System.out.println("Sum: " + sum);
+      public Integer finish() {
+        return sum;
+      }
+    };
   }
 
-  public void part2(List<String> input) {
-    List<Integer> groupPriorities = new ArrayList<>();
-
-    List<List<String>> groupList = splitIntoGroups(input);
-
-    for (List<String> group : groupList) {
-      char groupBadgeItem = findGroupBadgeItem(group);
-      groupPriorities.add(toPriority(groupBadgeItem));
-    }
+  public LineSolver<Integer> part2Solver() {
+    return new LineSolver<>() {
+      private final int sizeOfGroups = 3;
+      private List<String> group = new ArrayList<>(sizeOfGroups);
+      private int sum = 0;
+
+      public void accept(CharSequence elf) {
+        group.add(elf.toString());
+        if (group.size() == sizeOfGroups) {
+          char groupBadgeItem = findGroupBadgeItem(group);
+          sum += toPriority(groupBadgeItem);
+          group = new ArrayList<>(sizeOfGroups);
+        }
+      }
 
-    System.out.println("Group Priorities: " + groupPriorities);
-    int sum = groupPriorities.stream().mapToInt(Integer::intValue).sum();
-    System.out.println("Sum: " + sum);
+      public Integer finish() {
+        if (!group.isEmpty()) {
+          throw new IllegalArgumentException(
+            "Groups are always in 3s! " + group.size() + " elves left over"
+          );
+        }
+        return sum;
+      }
+    };
   }
 
   private char findErrorItem(String rucksack) {
@@ -60,26 +73,6 @@ public class Day3 implements Day {
     );
   }
 
-  private List<List<String>> splitIntoGroups(List<String> input) {
-    int sizeOfGroups = 3;
-    List<List<String>> groupList = new ArrayList<>();
-
-    List<String> group = new ArrayList<>();
-    int numElf = 0;
-    for (String elf : input) {
-      if (numElf == sizeOfGroups) {
-        groupList.add(group);
-        group = new ArrayList<>();
-        numElf = 0;
-      }
-      group.add(elf);
-      numElf++;
-    }
-    groupList.add(group);
-
-    return groupList;
-  }
-
   private char findGroupBadgeItem(List<String> rucksacks) {
     if (rucksacks.size() != 3) {
       throw new IllegalArgumentException("Groups are always in 3s!");
@@ -3,38 +3,44 @@ package days;
 import com.google.common.base.Splitter;
 import java.util.List;
 
-public class Day4 implements Day {
-
-  public void part1(List<String> input) {
-    int numContainments = 0;
-    for (String assignmentPairLine : input) {
-      RangePair rangePair = toRangePair(assignmentPairLine);
-      if (
-        doesOneRangeContainOther(rangePair.getFirst(), rangePair.getSecond())
-      ) {
-        numContainments++;
+public class Day4 implements StreamingDay<Integer, Integer> {
+
+  public LineSolver<Integer> part1Solver() {
+    return new LineSolver<>() {
+      private int numContainments = 0;
+
+      public void accept(CharSequence assignmentPairLine) {
+        RangePair rangePair = toRangePair(assignmentPairLine);
+        if (
+          doesOneRangeContainOther(rangePair.getFirst(), rangePair.getSecond())
+        ) {
+          numContainments++;
+        }
       }
-    }
 
-    System.out.println(
-      "Number of assignment pairs that have a containment: " + numContainments
-    );
+      public Integer finish() {
+        return numContainments;
+      }
+    };
   }
 
-  public void part2(List<String> input) {
-    int numOverlaps = 0;
-    for (String assignmentPairLine : input) {
-      RangePair rangePair = toRangePair(assignmentPairLine);
-      if (
-        doesOneRangeOverlapOther(rangePair.getFirst(), rangePair.getSecond())
-      ) {
-        numOverlaps++;
+  public LineSolver<Integer> part2Solver() {
+    return new LineSolver<>() {
+      private int numOverlaps = 0;
+
+      public void accept(CharSequence assignmentPairLine) {
+        RangePair rangePair = toRangePair(assignmentPairLine);
+        if (
+          doesOneRangeOverlapOther(rangePair.getFirst(), rangePair.getSecond())
+        ) {
+          numOverlaps++;
+        }
       }
-    }
 
-    System.out.println(
-      "Number of assignment pairs that have a containment: " + numOverlaps
-    );
+      public Integer finish() {
+        return numOverlaps;
+      }
+    };
   }
 
   private class Range {
@@ -82,7 +88,7 @@ public class Day4 implements Day {
   private static final Splitter PAIR_SPLITTER = Splitter.on(",");
   private static final Splitter RANGE_SPLITTER = Splitter.on("-");
 
-  private RangePair toRangePair(String assignmentPairLine) {
+  private RangePair toRangePair(CharSequence assignmentPairLine) {
     List<String> assignments = PAIR_SPLITTER.splitToList(assignmentPairLine);
 
     String firstAssignmentRange = assignments.get(0);
@@ -5,9 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
-public class Day5 implements Day {
+public class Day5 implements Day<String, String> {
 
-  public void part1(List<String> input) {
+  public String part1(List<String> input) {
     int numStacks = getNumOfStacks(input);
     List<Stack<String>> stacks = parseIntoStartingStacks(numStacks, input);
     List<Move> moves = parseMoves(input);
@@ -21,10 +21,10 @@ public class Day5 implements Day {
       }
     }
 
-    System.out.println("Result: " + getResult(stacks));
+    return getResult(stacks);
   }
 
-  public void part2(List<String> input) {
+  public String part2(List<String> input) {
     int numStacks = getNumOfStacks(input);
     List<Stack<String>> stacks = parseIntoStartingStacks(numStacks, input);
     List<Move> moves = parseMoves(input);
@@ -46,7 +46,7 @@ public class Day5 implements Day {
       }
     }
 
-    System.out.println("Result: " + getResult(stacks));
+    return getResult(stacks);
   }
 
   private String getResult(List<Stack<String>> stacks) {
@@ -64,7 +64,6 @@ public class Day5 implements Day {
         int numStacks = Integer.parseInt(
           line.substring(line.length() - 2, line.length() - 1)
         );
-        System.out.println("Num stacks total: " + numStacks);
         return numStacks;
       }
     }
@@ -80,7 +79,6 @@ public class Day5 implements Day {
       numStacks,
       input
     );
-    System.out.println("DEBUG: starting stackLists: " + stackLists);
 
     List<Stack<String>> startingStacks = new ArrayList<>(numStacks);
     for (List<String> stackList : stackLists) {
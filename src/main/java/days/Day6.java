@@ -1,26 +1,48 @@
 package days;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-public class Day6 implements Day {
+public class Day6 implements StreamingDay<Integer, Integer> {
 
-  public void part1(List<String> input) {
-    String buffer = input.get(0);
-    int zeroIndexedAnswer = findZeroIndexedPosition(buffer, 4);
-    int oneIndexedAnswer = zeroIndexedAnswer + 1;
-    System.out.println("Num characters = " + oneIndexedAnswer);
+  public LineSolver<Integer> part1Solver() {
+    return new MarkerSolver(4);
   }
 
-  public void part2(List<String> input) {
-    String buffer = input.get(0);
-    int zeroIndexedAnswer = findZeroIndexedPosition(buffer, 14);
-    int oneIndexedAnswer = zeroIndexedAnswer + 1;
-    System.out.println("Num characters = " + oneIndexedAnswer);
+  public LineSolver<Integer> part2Solver() {
+    return new MarkerSolver(14);
   }
 
-  private int findZeroIndexedPosition(String buffer, int sizeOfUniqueSequence) {
+  // the buffer is one giant line, which gets scanned in place (zero-copy, since Runner hands it over as a MappedInput)
+  private class MarkerSolver implements LineSolver<Integer> {
+
+    private final int sizeOfUniqueSequence;
+    private Integer oneIndexedAnswer = null;
+
+    MarkerSolver(int sizeOfUniqueSequence) {
+      this.sizeOfUniqueSequence = sizeOfUniqueSequence;
+    }
+
+    public void accept(CharSequence buffer) {
+      if (oneIndexedAnswer != null) {
+        return;
+      }
+      int zeroIndexedAnswer = findZeroIndexedPosition(
+        buffer,
+        sizeOfUniqueSequence
+      );
+      oneIndexedAnswer = zeroIndexedAnswer + 1;
+    }
+
+    public Integer finish() {
+      return oneIndexedAnswer;
+    }
+  }
+
+  private int findZeroIndexedPosition(
+    CharSequence buffer,
+    int sizeOfUniqueSequence
+  ) {
     for (int i = 0; i <= buffer.length() - sizeOfUniqueSequence; i++) {
       boolean isUnique = isSequenceFromStartUnique(
         buffer,
@@ -37,7 +59,7 @@ public class Day6 implements Day {
   }
 
   private boolean isSequenceFromStartUnique(
-    String buffer,
+    CharSequence buffer,
     int sizeOfUniqueSequence,
     int start
   ) {
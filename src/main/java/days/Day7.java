@@ -11,43 +11,36 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class Day7 implements Day {
+public class Day7 implements Day<Integer, Integer> {
 
   private static final int SIZE_LIMIT = 100000;
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     Folder root = createFilesystemHierarchyFromRoot(input);
-    printFolder(0, root, false);
 
     Map<String, Integer> dirSizesByPath = getDirSizesByPathFromRoot(root);
-    System.out.println("dirSizesByPath: " + dirSizesByPath);
 
     Map<String, Integer> sizesByPathBelowLimit = dirSizesByPath
       .entrySet()
       .stream()
       .filter(entry -> entry.getValue() <= SIZE_LIMIT)
       .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    System.out.println("dirSizesByPath below limit: " + sizesByPathBelowLimit);
 
     int totalSizeBelowLimit = sizesByPathBelowLimit
       .values()
       .stream()
       .mapToInt(Integer::intValue)
       .sum();
-    System.out.println(
-      "Total sizes below " + SIZE_LIMIT + ": " + totalSizeBelowLimit
-    );
+    return totalSizeBelowLimit;
   }
 
   private static final int TOTAL_DISK_SPACE = 70000000;
   private static final int UNUSED_SPACE_NEEDED_TO_UPDATE = 30000000;
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     Folder root = createFilesystemHierarchyFromRoot(input);
-    printFolder(0, root, false);
 
     Map<String, Integer> dirSizesByPath = getDirSizesByPathFromRoot(root);
-    System.out.println("dirSizesByPath: " + dirSizesByPath);
 
     int rootSpace = dirSizesByPath.get(DIR_ROOT);
     int currentlyUnused = TOTAL_DISK_SPACE - rootSpace;
@@ -60,12 +53,7 @@ public class Day7 implements Day {
       .sorted(Map.Entry.comparingByValue())
       .findFirst()
       .get();
-    System.out.println(
-      "Should delete dir with path=" +
-      entryToDelete.getKey() +
-      " as it takes up " +
-      entryToDelete.getValue()
-    );
+    return entryToDelete.getValue();
   }
 
   private static final String DIR_ROOT = "/";
@@ -279,6 +267,13 @@ public class Day7 implements Day {
   ////////// printing out an ASCII directory tree //////////
   //////////////////////////////////////////////////////////
 
+  // not part of either answer -- `Runner tree` prints it
+  public String renderTree(List<String> input) {
+    StringBuilder tree = new StringBuilder();
+    appendFolder(tree, 0, createFilesystemHierarchyFromRoot(input), false);
+    return tree.toString();
+  }
+
   // e.g.
   /*
   ~~ /
@@ -299,34 +294,40 @@ public class Day7 implements Day {
       └─ k (size=7214296)
   */
 
-  private void printFolder(int indent, Folder root, boolean isLastInFolder) {
-    printFolderName(indent, root, isLastInFolder);
-    printFolderContents(indent + 1, root, isLastInFolder);
+  private void appendFolder(
+    StringBuilder tree,
+    int indent,
+    Folder root,
+    boolean isLastInFolder
+  ) {
+    appendFolderName(tree, indent, root, isLastInFolder);
+    appendFolderContents(tree, indent + 1, root, isLastInFolder);
   }
 
   private static final String DASH_SPACE = "─ ";
   private static final String CONTINUING_PIPE = "├";
   private static final String FINAL_ELBOW = "└";
 
-  private void printFolderName(
+  private void appendFolderName(
+    StringBuilder tree,
     int indentLevel,
     Folder folder,
     boolean isLastInFolder
   ) {
     if (folder.getName().equals(DIR_ROOT)) {
-      System.out.println("~~ " + DIR_ROOT);
+      tree.append("~~ ").append(DIR_ROOT).append('\n');
       return;
     }
 
-    System.out.println(
-      properIndentation(indentLevel, false) + // only do last indentation with files
-      formatDashPrefix(isLastInFolder) +
-      folder.getName() +
-      "/"
-    );
+    tree
+      .append(properIndentation(indentLevel, false)) // only do last indentation with files
+      .append(formatDashPrefix(isLastInFolder))
+      .append(folder.getName())
+      .append("/\n");
   }
 
-  private void printFolderContents(
+  private void appendFolderContents(
+    StringBuilder tree,
     int indent,
     Folder folder,
     boolean isLastInFolder
@@ -341,27 +342,27 @@ public class Day7 implements Day {
       boolean isLast = i == sortedItems.size() - 1;
       FileSystemItem item = sortedItems.get(i);
       if (item instanceof File) {
-        printFile((File) item, indent, isLast, isLastInFolder);
+        appendFile(tree, (File) item, indent, isLast, isLastInFolder);
       } else {
-        printFolder(indent, (Folder) item, isLast);
+        appendFolder(tree, indent, (Folder) item, isLast);
       }
     }
   }
 
-  private void printFile(
+  private void appendFile(
+    StringBuilder tree,
     File file,
     int indent,
     boolean isLastInFolder,
     boolean containingFolderIsLastInFolder
   ) {
-    System.out.println(
-      properIndentation(indent, containingFolderIsLastInFolder) +
-      formatDashPrefix(isLastInFolder) +
-      file.getName() +
-      " (size=" +
-      file.getSize() +
-      ")"
-    );
+    tree
+      .append(properIndentation(indent, containingFolderIsLastInFolder))
+      .append(formatDashPrefix(isLastInFolder))
+      .append(file.getName())
+      .append(" (size=")
+      .append(file.getSize())
+      .append(")\n");
   }
 
   private String formatDashPrefix(boolean isLastInFolder) {
@@ -3,23 +3,21 @@ package days;
 import java.util.Arrays;
 import java.util.List;
 
-public class Day8 implements Day {
+public class Day8 implements Day<Integer, Integer> {
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     int[][] grid = constructGrid(input);
-    printGrid(grid);
 
     int numVisible = calculateNumVisible(grid);
-    System.out.println("Num visible: " + numVisible);
+    return numVisible;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     int[][] grid = constructGrid(input);
-    printGrid(grid);
 
     int[][] scenicScores = calculateScenicScores(grid);
     int mostScenicScore = findMostScenery(scenicScores);
-    System.out.println("Most scenic score: " + mostScenicScore);
+    return mostScenicScore;
   }
 
   private int[][] constructGrid(List<String> input) {
@@ -34,15 +32,6 @@ public class Day8 implements Day {
     return grid;
   }
 
-  private void printGrid(int[][] grid) {
-    for (int[] row : grid) {
-      for (int item : row) {
-        System.out.print(item);
-      }
-      System.out.println();
-    }
-  }
-
   private int calculateNumVisible(int[][] grid) {
     int numVisible = 0;
     for (int y = 0; y < grid.length; y++) {
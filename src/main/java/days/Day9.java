@@ -6,18 +6,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-public class Day9 implements Day {
+public class Day9 implements Day<Integer, Integer> {
 
-  public void part1(List<String> input) {
+  public Integer part1(List<String> input) {
     int numTailTouched = calculateNumLongTailTouched(input, 2);
-    System.out.println("Num positions Tail touched: " + numTailTouched);
+    return numTailTouched;
   }
 
-  public void part2(List<String> input) {
+  public Integer part2(List<String> input) {
     int numLongTailTouched = calculateNumLongTailTouched(input, 10);
-    System.out.println(
-      "Num positions long Tail touched: " + numLongTailTouched
-    );
+    return numLongTailTouched;
   }
 
   private static final Splitter SPLITTER = Splitter.on(" ");
@@ -0,0 +1,52 @@
+package days;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// strategies for Day19 -- most geodes a blueprint's robots can open within maxTime minutes, starting from 1 ore robot
+// implementations must be safe to call from several threads at once (Day19 runs blueprints in parallel)
+public interface GeodeSolver {
+  int mostGeodes(Blueprint bp, int maxTime);
+
+  static List<Blueprint> parseBlueprints(List<String> input) {
+    List<Blueprint> bps = new ArrayList<>(input.size());
+    String pattern =
+      "Blueprint (\\d+): Each ore robot costs (\\d+) ore. Each clay robot costs (\\d+) ore. Each obsidian robot costs (\\d+) ore and (\\d+) clay. Each geode robot costs (\\d+) ore and (\\d+) obsidian";
+    Pattern r = Pattern.compile(pattern);
+    for (String line : input) {
+      Matcher m = r.matcher(line);
+      m.find();
+      bps.add(
+        new Blueprint(
+          Integer.parseInt(m.group(1)),
+          Integer.parseInt(m.group(2)),
+          Integer.parseInt(m.group(3)),
+          Integer.parseInt(m.group(4)),
+          Integer.parseInt(m.group(5)),
+          Integer.parseInt(m.group(6)),
+          Integer.parseInt(m.group(7))
+        )
+      );
+    }
+    return bps;
+  }
+
+  enum Resource {
+    ORE,
+    CLAY,
+    OBSIDIAN,
+    GEODE,
+  }
+
+  record Blueprint(
+    int id,
+    int oreRobotOreCost,
+    int clayRobotOreCost,
+    int obsidianRobotOreCost,
+    int obsidianRobotClayClost,
+    int geodeRobotOreCost,
+    int geodeRobotObsidianCost
+  ) {}
+}
@@ -0,0 +1,18 @@
+package days;
+
+// one part of a single-pass puzzle -- gets fed the input a line at a time, then asked for the answer
+public interface LineSolver<R> {
+  void accept(CharSequence line);
+
+  R finish();
+
+  static <R> R solve(
+    LineSolver<R> solver,
+    Iterable<? extends CharSequence> lines
+  ) {
+    for (CharSequence line : lines) {
+      solver.accept(line);
+    }
+    return solver.finish();
+  }
+}
@@ -0,0 +1,27 @@
+package days;
+
+import java.util.List;
+import utils.MappedInput;
+
+// days whose parts only ever need to look at one line at a time, so Runner can stream them input of any size in constant memory
+public interface StreamingDay<P1, P2> extends Day<P1, P2> {
+  LineSolver<P1> part1Solver();
+
+  LineSolver<P2> part2Solver();
+
+  default P1 part1(List<String> input) {
+    return LineSolver.solve(part1Solver(), input);
+  }
+
+  default P2 part2(List<String> input) {
+    return LineSolver.solve(part2Solver(), input);
+  }
+
+  default P1 part1(MappedInput input) {
+    return LineSolver.solve(part1Solver(), input.lines());
+  }
+
+  default P2 part2(MappedInput input) {
+    return LineSolver.solve(part2Solver(), input.lines());
+  }
+}
@@ -0,0 +1,171 @@
+package utils;
+
+import days.Day;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class AllDaysRunner {
+
+  private static final int NUM_DAYS = 25;
+
+  // roughly by measured runtime -- kicking these off first keeps them from being the long tail at the end
+  private static final List<Integer> SLOWEST_DAYS_FIRST = List.of(
+    16,
+    19,
+    17,
+    24,
+    15,
+    23,
+    14,
+    20,
+    18,
+    11
+  );
+
+  public static void run(int parallelism) throws IOException {
+    // each input's mapped once, then shared by both parts
+    Map<Integer, Supplier<Day<?, ?>>> newDayByDay = new HashMap<>();
+    Map<Integer, MappedInput> inputsByDay = new HashMap<>();
+    for (int day = 1; day <= NUM_DAYS; day++) {
+      newDayByDay.put(day, DayRegistry.getDay(day));
+      inputsByDay.put(day, MappedInput.map(Runner.inputPath(day, false)));
+    }
+
+    System.out.println(
+      "'Tis all " + NUM_DAYS + " days, " + parallelism + " at a time...\n"
+    );
+
+    // asyncMode -> FIFO, so tasks get picked up in the order they're scheduled
+    ForkJoinPool pool = new ForkJoinPool(
+      parallelism,
+      ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+      null,
+      true
+    );
+
+    long wallStart = System.nanoTime();
+
+    List<CompletableFuture<PartResult>> futures = new ArrayList<>();
+    for (PartTask task : scheduleLongestFirst()) {
+      futures.add(
+        CompletableFuture.supplyAsync(
+          () ->
+            solve(
+              task,
+              newDayByDay.get(task.day()),
+              inputsByDay.get(task.day())
+            ),
+          pool
+        )
+      );
+    }
+
+    List<PartResult> results = futures
+      .stream()
+      .map(CompletableFuture::join)
+      .collect(Collectors.toList());
+
+    long wallNanos = System.nanoTime() - wallStart;
+    pool.shutdown();
+
+    printAnswers(results);
+    printTimingTable(results, wallNanos);
+  }
+
+  // both parts of the slow days first (part 2 is usually the heavier one), then everything else in day order
+  private static List<PartTask> scheduleLongestFirst() {
+    Set<Integer> dayOrder = new LinkedHashSet<>(SLOWEST_DAYS_FIRST);
+    for (int day = 1; day <= NUM_DAYS; day++) {
+      dayOrder.add(day);
+    }
+
+    List<PartTask> tasks = new ArrayList<>();
+    for (int day : dayOrder) {
+      tasks.add(new PartTask(day, "2"));
+      tasks.add(new PartTask(day, "1"));
+    }
+    return tasks;
+  }
+
+  private static PartResult solve(
+    PartTask task,
+    Supplier<Day<?, ?>> newDay,
+    MappedInput input
+  ) {
+    long start = System.nanoTime();
+    Object answer;
+    try {
+      answer = Runner.solvePart(task.partNumber(), newDay, input);
+    } catch (Throwable e) {
+      // Errors too (OOM, stack overflow) -- whatever the day was holding is garbage once this unwinds, so the rest
+      // of the days can still run
+      answer = "FAILED: " + e;
+    }
+    return new PartResult(task, answer, System.nanoTime() - start);
+  }
+
+  private static void printAnswers(List<PartResult> results) {
+    results
+      .stream()
+      .sorted(
+        Comparator
+          .comparing((PartResult r) -> r.task().day())
+          .thenComparing(r -> r.task().partNumber())
+      )
+      .forEach(r ->
+        System.out.println(
+          "Day " +
+          r.task().day() +
+          " part " +
+          r.task().partNumber() +
+          ": " +
+          r.answer()
+        )
+      );
+    System.out.println();
+  }
+
+  private static void printTimingTable(
+    List<PartResult> results,
+    long wallNanos
+  ) {
+    System.out.println(String.format("%-5s %-5s %10s", "day", "part", "ms"));
+    results
+      .stream()
+      .sorted(Comparator.comparing(PartResult::nanos).reversed())
+      .forEach(r ->
+        System.out.println(
+          String.format(
+            "%-5d %-5s %10d",
+            r.task().day(),
+            r.task().partNumber(),
+            TimeUnit.NANOSECONDS.toMillis(r.nanos())
+          )
+        )
+      );
+
+    long summedNanos = results.stream().mapToLong(PartResult::nanos).sum();
+    System.out.println();
+    System.out.println(
+      "Wall clock: " + TimeUnit.NANOSECONDS.toMillis(wallNanos) + "ms"
+    );
+    System.out.println(
+      "Summed task time: " + TimeUnit.NANOSECONDS.toMillis(summedNanos) + "ms"
+    );
+  }
+
+  private record PartTask(int day, String partNumber) {}
+
+  private record PartResult(PartTask task, Object answer, long nanos) {}
+}
@@ -0,0 +1,62 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// for deterministic simulations that eventually loop -- feed it the state & a running value (height, score...)
+// after each step, and once a state repeats it extrapolates that value out to whatever step count is wanted
+// only keeps up to maxStates states at a time: once full it forgets them all & starts over from the current step,
+// so any cycle shorter than maxStates still gets found, just maybe a little later
+public class CycleDetector<S> {
+
+  private static final int DEFAULT_MAX_STATES = 1 << 16;
+
+  private final int maxStates;
+  private final Map<S, Integer> firstStepByState = new HashMap<>();
+  private long[] valueByStep = new long[1 << 10]; // from epochStart on
+  private long epochStart;
+  private long numSteps;
+
+  public CycleDetector() {
+    this(DEFAULT_MAX_STATES);
+  }
+
+  public CycleDetector(int maxStates) {
+    this.maxStates = maxStates;
+  }
+
+  // S needs a value-based equals/hashCode, and has to capture everything that decides the steps after it
+  // steps are counted from 0 in the order they're observed
+  public OptionalLong observe(S state, long value, long targetStep) {
+    long step = numSteps++;
+    if (firstStepByState.size() == maxStates) {
+      firstStepByState.clear();
+      epochStart = step;
+    }
+    int i = (int) (step - epochStart);
+    if (i == valueByStep.length) {
+      valueByStep = Arrays.copyOf(valueByStep, i * 2);
+    }
+    valueByStep[i] = value;
+
+    Integer seenAt = firstStepByState.putIfAbsent(state, i);
+    if (seenAt == null) {
+      return OptionalLong.empty();
+    }
+
+    // cycle detected! whole cycles, then however far into one more cycle the target lands
+    long stepsPerCycle = i - seenAt;
+    long valuePerCycle = value - valueByStep[seenAt];
+    long stepsToGo = targetStep - step;
+    int stepsIntoLastCycle = (int) (stepsToGo % stepsPerCycle);
+    return OptionalLong.of(
+      value +
+      valuePerCycle *
+      (stepsToGo / stepsPerCycle) +
+      valueByStep[seenAt + stepsIntoLastCycle] -
+      valueByStep[seenAt]
+    );
+  }
+}
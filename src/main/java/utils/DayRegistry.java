@@ -0,0 +1,72 @@
+package utils;
+
+import com.google.common.collect.ImmutableMap;
+import days.Day;
+import days.Day1;
+import days.Day10;
+import days.Day11;
+import days.Day12;
+import days.Day13;
+import days.Day14;
+import days.Day15;
+import days.Day16;
+import days.Day17;
+import days.Day18;
+import days.Day19;
+import days.Day2;
+import days.Day20;
+import days.Day21;
+import days.Day22;
+import days.Day23;
+import days.Day24;
+import days.Day25;
+import days.Day3;
+import days.Day4;
+import days.Day5;
+import days.Day6;
+import days.Day7;
+import days.Day8;
+import days.Day9;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// new days get wired up here -- beats scanning the whole classpath (guava, jackson & all) for a DayN class on every run
+public class DayRegistry {
+
+  private static final Map<Integer, Supplier<Day<?, ?>>> DAY_BY_NUMBER = ImmutableMap
+    .<Integer, Supplier<Day<?, ?>>>builder()
+    .put(1, Day1::new)
+    .put(2, Day2::new)
+    .put(3, Day3::new)
+    .put(4, Day4::new)
+    .put(5, Day5::new)
+    .put(6, Day6::new)
+    .put(7, Day7::new)
+    .put(8, Day8::new)
+    .put(9, Day9::new)
+    .put(10, Day10::new)
+    .put(11, Day11::new)
+    .put(12, Day12::new)
+    .put(13, Day13::new)
+    .put(14, Day14::new)
+    .put(15, Day15::new)
+    .put(16, Day16::new)
+    .put(17, Day17::new)
+    .put(18, Day18::new)
+    .put(19, Day19::new)
+    .put(20, Day20::new)
+    .put(21, Day21::new)
+    .put(22, Day22::new)
+    .put(23, Day23::new)
+    .put(24, Day24::new)
+    .put(25, Day25::new)
+    .build();
+
+  public static Supplier<Day<?, ?>> getDay(int day) {
+    Supplier<Day<?, ?>> newDay = DAY_BY_NUMBER.get(day);
+    if (newDay == null) {
+      throw new IllegalArgumentException("No Day" + day + " class yet!");
+    }
+    return newDay;
+  }
+}
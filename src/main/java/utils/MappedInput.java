@@ -0,0 +1,195 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// puzzle input mapped straight from disk -- lines are CharSequence views onto the mapping, nothing gets decoded/copied until toString()
+// inputs are plain ASCII, so each byte is a char -- anything outside ASCII throws rather than getting garbled
+// only absolute reads are done on the buffers, so one instance can be shared across threads
+// a single mapping tops out at 2GB, so the file's mapped as a run of fixed-size windows -- the odd line that
+// straddles two of them gets copied out on its own, everything else is still a view
+public final class MappedInput {
+
+  private static final int DEFAULT_WINDOW_SHIFT = 30; // 1GB
+
+  private final ByteBuffer[] windows;
+  private final int windowShift;
+  private final long size;
+
+  private MappedInput(ByteBuffer[] windows, int windowShift, long size) {
+    this.windows = windows;
+    this.windowShift = windowShift;
+    this.size = size;
+  }
+
+  public static MappedInput map(Path path) throws IOException {
+    return map(path, DEFAULT_WINDOW_SHIFT);
+  }
+
+  // windows are 2^windowShift bytes each
+  static MappedInput map(Path path, int windowShift) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long windowSize = 1L << windowShift;
+      ByteBuffer[] windows = new ByteBuffer[
+        (int) Math.max(1, (size + windowSize - 1) >>> windowShift)
+      ];
+      for (int w = 0; w < windows.length; w++) {
+        long from = w * windowSize;
+        // mapping stays valid after the channel is closed
+        windows[w] =
+          channel.map(
+            FileChannel.MapMode.READ_ONLY,
+            from,
+            Math.min(windowSize, size - from)
+          );
+      }
+      return new MappedInput(windows, windowShift, size);
+    }
+  }
+
+  public Iterable<CharSequence> lines() {
+    return LineIterator::new;
+  }
+
+  // for days that still want List<String> -- same lines Files.readAllLines would give for ASCII input
+  public List<String> toLines() {
+    List<String> lines = new ArrayList<>();
+    for (CharSequence line : lines()) {
+      lines.add(line.toString());
+    }
+    return lines;
+  }
+
+  private byte byteAt(long pos) {
+    return windows[(int) (pos >>> windowShift)].get(offsetInWindow(pos));
+  }
+
+  private int offsetInWindow(long pos) {
+    return (int) (pos & ((1L << windowShift) - 1));
+  }
+
+  private class LineIterator implements Iterator<CharSequence> {
+
+    private long pos = 0;
+
+    @Override
+    public boolean hasNext() {
+      return pos < size;
+    }
+
+    @Override
+    public CharSequence next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      // lines end at \n, \r, or \r\n, same as BufferedReader
+      long start = pos;
+      long end = start;
+      while (end < size && byteAt(end) != '\n' && byteAt(end) != '\r') {
+        end++;
+      }
+      pos = end + 1;
+      if (
+        end < size &&
+        byteAt(end) == '\r' &&
+        pos < size &&
+        byteAt(pos) == '\n'
+      ) {
+        pos++;
+      }
+
+      return lineOf(start, end);
+    }
+  }
+
+  private Line lineOf(long start, long end) {
+    int length = (int) (end - start);
+    if (end - start > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+        "Line at offset " + start + " is too long (" + (end - start) + " chars)"
+      );
+    }
+    if (length == 0 || (start >>> windowShift) == ((end - 1) >>> windowShift)) {
+      int from = offsetInWindow(start);
+      ByteBuffer window = windows[(int) (start >>> windowShift)];
+      return new Line(window, start - from, from, from + length);
+    }
+
+    // straddles a window boundary
+    ByteBuffer stitched = ByteBuffer.allocate(length);
+    for (int i = 0; i < length; i++) {
+      stitched.put(i, byteAt(start + i));
+    }
+    return new Line(stitched, start, 0, length);
+  }
+
+  private static final class Line implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final long offset; // of buffer index 0 in the input, for errors
+    private final int start;
+    private final int end;
+
+    Line(ByteBuffer buffer, long offset, int start, int end) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return asciiAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      if (from < 0 || to > length() || from > to) {
+        throw new IndexOutOfBoundsException(
+          "[" + from + ", " + to + ") of " + length()
+        );
+      }
+      return new Line(buffer, offset, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[length()];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = asciiAt(start + i);
+      }
+      return new String(chars);
+    }
+
+    private char asciiAt(int pos) {
+      byte b = buffer.get(pos);
+      if (b < 0) {
+        throw new IllegalArgumentException(
+          "Non-ASCII byte 0x" +
+          Integer.toHexString(b & 0xFF) +
+          " at offset " +
+          (offset + pos) +
+          " of input"
+        );
+      }
+      return (char) b;
+    }
+  }
+}
@@ -1,75 +1,84 @@
 package utils;
 
-import com.google.common.reflect.ClassPath;
 import days.Day;
+import days.Day7;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.function.Supplier;
 
 public class Runner {
 
   private static final int DAY = 25;
   private static final boolean TEST = false;
 
-  public static void main(String[] args)
-    throws IOException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, InstantiationException {
-    Class<?> dayClass = loadDayClass();
-    List<String> input = parseInputToLines();
+  // `Runner all [parallelism]` runs every day & part concurrently instead of just DAY
+  private static final String ALL_DAYS_ARG = "all";
+  // `Runner tree` prints Day7's filesystem as an ASCII tree
+  private static final String DAY7_TREE_ARG = "tree";
 
-    runPart1(dayClass, input);
-    System.out.println();
-    runPart2(dayClass, input);
-  }
-
-  private static Class<?> loadDayClass() throws IOException {
-    Class<?> dayClass = ClassPath
-      .from(ClassLoader.getSystemClassLoader())
-      .getAllClasses()
-      .stream()
-      .filter(clazz -> clazz.getSimpleName().equals("Day" + DAY))
-      .map(ClassPath.ClassInfo::load)
-      .filter(Day.class::isAssignableFrom)
-      .findFirst()
-      .orElseThrow(() ->
-        new IllegalArgumentException("No Day" + DAY + " class yet!")
-      );
+  public static void main(String[] args) throws IOException {
+    if (args.length > 0 && args[0].equals(ALL_DAYS_ARG)) {
+      int parallelism = args.length > 1
+        ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+      AllDaysRunner.run(parallelism);
+      return;
+    }
+    if (args.length > 0 && args[0].equals(DAY7_TREE_ARG)) {
+      MappedInput input = MappedInput.map(inputPath(7, TEST));
+      System.out.print(new Day7().renderTree(input.toLines()));
+      return;
+    }
 
+    Supplier<Day<?, ?>> newDay = DayRegistry.getDay(DAY);
     System.out.println("'Tis Day " + DAY + "... let's get crackin':\n");
-    return dayClass;
+    MappedInput input = MappedInput.map(inputPath(DAY, TEST));
+
+    runPart1(newDay, input);
+    System.out.println();
+    runPart2(newDay, input);
   }
 
-  private static List<String> parseInputToLines() throws IOException {
-    Path path = Paths.get(
-      TEST
+  static Path inputPath(int day, boolean test) {
+    return Paths.get(
+      test
         ? "src/main/resources/dayinputs/testinput.txt"
-        : "src/main/resources/dayinputs/day" + DAY + "input.txt"
+        : "src/main/resources/dayinputs/day" + day + "input.txt"
     );
-    return Files.readAllLines(path);
   }
 
-  private static void runPart1(Class<?> dayClass, List<String> input)
-    throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
-    runPart("1", dayClass, input);
+  private static void runPart1(
+    Supplier<Day<?, ?>> newDay,
+    MappedInput input
+  ) {
+    runPart("1", newDay, input);
   }
 
-  private static void runPart2(Class<?> dayClass, List<String> input)
-    throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
-    runPart("2", dayClass, input);
+  private static void runPart2(
+    Supplier<Day<?, ?>> newDay,
+    MappedInput input
+  ) {
+    runPart("2", newDay, input);
   }
 
   private static void runPart(
     String partNumber,
-    Class<?> dayClass,
-    List<String> input
-  )
-    throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-    Object dayInstance = dayClass.getDeclaredConstructor().newInstance();
+    Supplier<Day<?, ?>> newDay,
+    MappedInput input
+  ) {
     System.out.println("__Part " + partNumber + "__");
-    dayClass
-      .getDeclaredMethod("part" + partNumber, List.class)
-      .invoke(dayInstance, input);
+    System.out.println(solvePart(partNumber, newDay, input));
+  }
+
+  // fresh instance per part, since plenty of days keep state in fields
+  // the input's mapped once & shared -- single-pass days walk its lines lazily, everyone else gets toLines()
+  static Object solvePart(
+    String partNumber,
+    Supplier<Day<?, ?>> newDay,
+    MappedInput input
+  ) {
+    Day<?, ?> day = newDay.get();
+    return partNumber.equals("1") ? day.part1(input) : day.part2(input);
   }
 }
@@ -0,0 +1,28 @@
+package days;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class Day17Test {
+
+  private static final String SAMPLE_JETS =
+    ">>><<><>><<<>><>>><<<>>><<<><<<>><>><<>>";
+
+  @ParameterizedTest
+  @CsvSource(
+    {
+      SAMPLE_JETS + ", 3068, 1514285714288",
+      // these keep a column open all the way down, so the reachable rows never get cut off by the flood fill
+      ">><<, 4440, 2199999999992",
+      "<<>>><><>, 3235, 1599999999999",
+      "><>><>>><, 4044, 2000000000000",
+    }
+  )
+  void towerHeight(String jets, long part1, long part2) {
+    assertEquals(part1, new Day17().part1(List.of(jets)));
+    assertEquals(part2, new Day17().part2(List.of(jets)));
+  }
+}
@@ -0,0 +1,19 @@
+package days;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class Day23Test {
+
+  // the rectangle only covers rows with elves in them, not every row of the input
+  @Test
+  void emptyRowsAboveElvesDontCount() {
+    assertEquals(
+      2,
+      new Day23().part1(List.of("....", "....", "....", "#..#"))
+    );
+    assertEquals(0, new Day23().part1(List.of("...", "...", "...", "..#")));
+  }
+}
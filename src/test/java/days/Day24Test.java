@@ -0,0 +1,37 @@
+package days;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class Day24Test {
+
+  private static final List<String> SAMPLE = List.of(
+    "#.######",
+    "#>>.<^<#",
+    "#.<..<<#",
+    "#>v.><>#",
+    "#<^v^^>#",
+    "######.#"
+  );
+
+  @Test
+  void sample() {
+    assertEquals(18, new Day24().part1(SAMPLE));
+    assertEquals(54, new Day24().part2(SAMPLE));
+  }
+
+  // the cell next to the exit always has a blizzard in it
+  @Test
+  void unreachableGoalThrows() {
+    List<String> input = List.of("#.##", "#.v#", "##.#");
+    IllegalArgumentException e = assertThrows(
+      IllegalArgumentException.class,
+      () -> new Day24().part1(input)
+    );
+    assertTrue(e.getMessage().startsWith("Goal is unreachable"));
+  }
+}
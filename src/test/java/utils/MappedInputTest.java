@@ -0,0 +1,56 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedInputTest {
+
+  @TempDir
+  Path dir;
+
+  // 4-byte windows, so plenty of lines (& one \r\n) straddle a boundary
+  @Test
+  void linesAcrossWindows() throws IOException {
+    String text = "abc\ndefghij\r\nk\n\nlmnopqrstuvwxyz\rend";
+    Path path = write(text);
+
+    List<String> expected = Files.readAllLines(path);
+    for (int shift = 0; shift <= 5; shift++) {
+      assertEquals(expected, MappedInput.map(path, shift).toLines());
+    }
+    assertEquals(expected, MappedInput.map(path).toLines());
+  }
+
+  @Test
+  void emptyInput() throws IOException {
+    assertEquals(List.of(), MappedInput.map(write(""), 2).toLines());
+  }
+
+  @Test
+  void nonAsciiReportsOffsetInInput() throws IOException {
+    Path path = dir.resolve("input.txt");
+    byte[] bytes = { 'a', 'b', 'c', '\n', 'd', 'e', (byte) 0xC3 };
+    Files.write(path, bytes);
+
+    IllegalArgumentException e = assertThrows(
+      IllegalArgumentException.class,
+      () -> MappedInput.map(path, 2).toLines()
+    );
+    assertEquals("Non-ASCII byte 0xc3 at offset 6 of input", e.getMessage());
+  }
+
+  private Path write(String text) throws IOException {
+    return Files.write(
+      dir.resolve("input.txt"),
+      text.getBytes(StandardCharsets.US_ASCII)
+    );
+  }
+}